@@ -0,0 +1,50 @@
+package com.finanote.benchmark;
+
+import com.finanote.FinanoteApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+
+/**
+ * Boots the application against a private in-memory H2 database so benchmarks never
+ * touch ./data and need no network. The schema comes from the regular migrations.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName, String... extraProperties) {
+        String[] properties = {
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                "spring.h2.console.enabled=false",
+                "finanote.rollup.reconcile-on-startup=false",
+                "logging.level.root=WARN"
+        };
+        return new SpringApplicationBuilder(FinanoteApplication.class)
+                .properties(properties)
+                .properties(extraProperties)
+                .run();
+    }
+
+    /**
+     * Boots the application with {@code profile} against a file database in {@code dataDir},
+     * keeping the profile's own pool, H2 and schema settings. {@code "default"} runs without an
+     * extra profile.
+     */
+    static ConfigurableApplicationContext startFileBacked(String profile, Path dataDir, String... extraProperties) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(FinanoteApplication.class)
+                .properties(
+                        "server.port=0",
+                        "finanote.data-dir=" + dataDir.toAbsolutePath(),
+                        "spring.h2.console.enabled=false",
+                        "logging.level.root=WARN")
+                .properties(extraProperties);
+        if (!"default".equals(profile)) {
+            builder.profiles(profile);
+        }
+        return builder.run();
+    }
+}
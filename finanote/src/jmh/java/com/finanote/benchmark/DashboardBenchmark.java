@@ -0,0 +1,103 @@
+package com.finanote.benchmark;
+
+import com.finanote.dto.DashboardStats;
+import com.finanote.dto.ExpenseResponse;
+import com.finanote.model.Category;
+import com.finanote.model.Expense;
+import com.finanote.model.User;
+import com.finanote.repository.ExpenseRepository;
+import com.finanote.repository.UserRepository;
+import com.finanote.service.ExpenseService;
+import com.finanote.service.MonthlySummaryService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard and month listing against a seeded H2 database. The {@code expenses} parameter
+ * sets how many rows are spread over the {@value #MONTHS} months before the measured month.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DashboardBenchmark {
+
+    static final int MONTHS = 24;
+
+    @Param({"10000", "100000"})
+    public int expenses;
+
+    private ConfigurableApplicationContext context;
+    private ExpenseService expenseService;
+    private Long userId;
+    private int year;
+    private int month;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("dashboard");
+        expenseService = context.getBean(ExpenseService.class);
+
+        User user = new User();
+        user.setName("Bench User");
+        user.setEmail("dashboard@finanote.local");
+        user.setPassword("not-used");
+        user.setMonthlyBudgetCents(50000);
+        user = context.getBean(UserRepository.class).save(user);
+        userId = user.getId();
+
+        seed(context.getBean(ExpenseRepository.class), user);
+        context.getBean(MonthlySummaryService.class).rebuild(userId);
+
+        LocalDate measured = LocalDate.now().withDayOfMonth(1);
+        year = measured.getYear();
+        month = measured.getMonthValue();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public DashboardStats dashboardStats() {
+        return expenseService.getDashboardStats(userId, year, month);
+    }
+
+    @Benchmark
+    public List<ExpenseResponse> monthListing() {
+        return expenseService.getExpensesByMonth(userId, year, month);
+    }
+
+    private void seed(ExpenseRepository expenseRepository, User user) {
+        Random random = new Random(42);
+        Category[] categories = Category.values();
+        LocalDate firstMonth = LocalDate.now().withDayOfMonth(1).minusMonths(MONTHS - 1);
+
+        List<Expense> batch = new ArrayList<>();
+        for (int i = 0; i < expenses; i++) {
+            LocalDate monthStart = firstMonth.plusMonths(i % MONTHS);
+            Expense expense = new Expense();
+            expense.setDescription("Expense " + i);
+            expense.setAmountCents(100 + random.nextInt(10000));
+            expense.setCategory(categories[random.nextInt(categories.length)]);
+            expense.setExpenseDate(monthStart.plusDays(random.nextInt(monthStart.lengthOfMonth())));
+            expense.setUser(user);
+            batch.add(expense);
+
+            if (batch.size() == 1000) {
+                expenseRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        expenseRepository.saveAll(batch);
+    }
+}
@@ -0,0 +1,36 @@
+package com.finanote.benchmark;
+
+import com.finanote.dto.ExpenseResponse;
+import com.finanote.model.Category;
+import com.finanote.model.Expense;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ExpenseMappingBenchmark {
+
+    private Expense expense;
+
+    @Setup
+    public void setUp() {
+        expense = new Expense();
+        expense.setId(42L);
+        expense.setDescription("Coffee with study group");
+        expense.setAmountCents(475);
+        expense.setCategory(Category.FOOD);
+        expense.setExpenseDate(LocalDate.of(2024, 3, 14));
+        expense.setNotes("Campus cafe");
+    }
+
+    @Benchmark
+    public ExpenseResponse fromExpense() {
+        return ExpenseResponse.fromExpense(expense);
+    }
+}
@@ -0,0 +1,58 @@
+package com.finanote.benchmark;
+
+import com.finanote.model.User;
+import com.finanote.security.CustomUserDetailsService;
+import com.finanote.security.JwtAuthenticationFilter;
+import com.finanote.security.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of the JWT filter, with and without the verified-token cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider jwtTokenProvider = JwtTokenProviderBenchmark.provider(cacheSize);
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, new CustomUserDetailsService(null),
+                Set.of(), new SimpleMeterRegistry());
+
+        User user = new User();
+        user.setId(1L);
+        user.setName("Bench User");
+        user.setEmail("bench@finanote.local");
+        authorization = "Bearer " + jwtTokenProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/expenses/dashboard");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+}
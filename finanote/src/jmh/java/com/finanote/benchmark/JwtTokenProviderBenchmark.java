@@ -0,0 +1,57 @@
+package com.finanote.benchmark;
+
+import com.finanote.cluster.InMemoryClusterEventBus;
+import com.finanote.model.User;
+import com.finanote.security.AuthenticatedUser;
+import com.finanote.security.JwtTokenProvider;
+import com.finanote.security.RevokedTokenRegistry;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtTokenProviderBenchmark {
+
+    static final String SECRET = "finanote-secret-key-for-jwt-token-generation-2024-student-expense-tracker";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private User user;
+    private String token;
+
+    // Revocations are only looked up here, so the registry needs no repository
+    static JwtTokenProvider provider(int cacheSize) {
+        return new JwtTokenProvider(SECRET, 86400000L, cacheSize,
+                new RevokedTokenRegistry(null, new InMemoryClusterEventBus()));
+    }
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = provider(10000);
+        user = new User();
+        user.setId(1L);
+        user.setName("Bench User");
+        user.setEmail("bench@finanote.local");
+        token = jwtTokenProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtTokenProvider.parseClaims(token);
+    }
+
+    @Benchmark
+    public AuthenticatedUser authenticateCached() {
+        return jwtTokenProvider.authenticate(token, email -> null);
+    }
+}
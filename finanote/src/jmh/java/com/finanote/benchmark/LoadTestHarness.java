@@ -0,0 +1,234 @@
+package com.finanote.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Closed-loop HTTP load test comparing request execution modes and configuration profiles.
+ * For each profile and mode the application is started on a random port against a fresh file
+ * database, seeded through the import endpoint, and hammered by {@code --concurrency} clients
+ * alternating between the month listing and the dashboard for {@code --duration} seconds.
+ *
+ * <pre>
+ * mvn -Pbenchmark -DskipTests test-compile exec:exec@load-test \
+ *     -Dload.args="--profiles=default,prod --modes=platform,virtual --concurrency=400 --duration=30"
+ * </pre>
+ *
+ * The schema is migrated by an untimed first boot, so {@code startupMillis} measures a start
+ * against an existing database as in production. Throughput and latency percentiles are
+ * printed and written as JSON to {@code --output} (default target/load-test-result.json).
+ */
+public class LoadTestHarness {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        List<String> profiles = List.of(options.getOrDefault("profiles", "default").split(","));
+        List<String> modes = List.of(options.getOrDefault("modes", "platform,virtual").split(","));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "20"));
+        int expenses = Integer.parseInt(options.getOrDefault("expenses", "5000"));
+        Path output = Path.of(options.getOrDefault("output", "target/load-test-result.json"));
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String profile : profiles) {
+            for (String mode : modes) {
+                Map<String, Object> result = run(profile.trim(), mode.trim(), concurrency, durationSeconds, expenses);
+                System.out.println(result);
+                results.add(result);
+            }
+        }
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), results);
+        System.out.println("Results written to " + output.toAbsolutePath());
+    }
+
+    private static Map<String, Object> run(String profile, String mode, int concurrency, int durationSeconds,
+                                           int expenses) throws Exception {
+        String threads = "spring.threads.virtual.enabled=" + "virtual".equals(mode);
+        Path dataDir = Files.createTempDirectory("finanote-load-");
+        BenchmarkContext.startFileBacked(profile, dataDir, threads).close();
+
+        long startupStart = System.nanoTime();
+        ConfigurableApplicationContext context = BenchmarkContext.startFileBacked(profile, dataDir, threads);
+        long startupMillis = (System.nanoTime() - startupStart) / 1_000_000;
+
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            String token = register(client, baseUrl, profile + "-" + mode);
+            seed(client, baseUrl, token, expenses);
+
+            LocalDate today = LocalDate.now();
+            URI[] targets = {
+                    URI.create(baseUrl + "/api/expenses/month?year=" + today.getYear() + "&month=" + today.getMonthValue()),
+                    URI.create(baseUrl + "/api/expenses/dashboard?year=" + today.getYear() + "&month=" + today.getMonthValue())
+            };
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(durationSeconds).toNanos();
+            AtomicLong errors = new AtomicLong();
+            List<Future<long[]>> workers = new ArrayList<>();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < concurrency; i++) {
+                    int offset = i;
+                    workers.add(executor.submit(() -> drive(client, targets, token, offset, deadline, errors)));
+                }
+            }
+
+            long[] latencies = workers.stream().map(LoadTestHarness::join)
+                    .flatMapToLong(Arrays::stream)
+                    .sorted()
+                    .toArray();
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("profile", profile);
+            result.put("mode", mode);
+            result.put("concurrency", concurrency);
+            result.put("durationSeconds", durationSeconds);
+            result.put("startupMillis", startupMillis);
+            result.put("requests", latencies.length);
+            result.put("errors", errors.get());
+            result.put("throughputPerSecond", latencies.length / (double) durationSeconds);
+            result.put("p50Millis", percentile(latencies, 0.50));
+            result.put("p99Millis", percentile(latencies, 0.99));
+            result.put("maxMillis", latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1_000_000.0);
+            return result;
+        } finally {
+            context.close();
+            deleteRecursively(dataDir);
+        }
+    }
+
+    private static long[] drive(HttpClient client, URI[] targets, String token, int offset, long deadline,
+                                AtomicLong errors) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        int i = offset;
+
+        while (System.nanoTime() < deadline) {
+            HttpRequest request = HttpRequest.newBuilder(targets[i++ % targets.length])
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    errors.incrementAndGet();
+                    continue;
+                }
+            } catch (IOException e) {
+                errors.incrementAndGet();
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static String register(HttpClient client, String baseUrl, String name) throws Exception {
+        String body = MAPPER.writeValueAsString(Map.of(
+                "name", "Load Test",
+                "email", "load-" + name + "@finanote.local",
+                "password", "load-test-password"));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/register"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode json = MAPPER.readTree(response.body());
+        return json.get("token").asText();
+    }
+
+    private static void seed(HttpClient client, String baseUrl, String token, int expenses) throws Exception {
+        Random random = new Random(7);
+        String[] categories = {"FOOD", "TRANSPORT", "ENTERTAINMENT", "EDUCATION", "SHOPPING"};
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+
+        StringBuilder csv = new StringBuilder("description,amount,category,expenseDate\n");
+        for (int i = 0; i < expenses; i++) {
+            LocalDate date = monthStart.minusMonths(i % 6).plusDays(random.nextInt(28));
+            long cents = 100 + random.nextInt(5000);
+            csv.append("Expense ").append(i).append(',')
+                    .append(BigDecimal.valueOf(cents, 2).toPlainString()).append(',')
+                    .append(categories[random.nextInt(categories.length)]).append(',')
+                    .append(date).append('\n');
+        }
+
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/expenses/import"))
+                        .header("Content-Type", "text/csv")
+                        .header("Authorization", "Bearer " + token)
+                        .POST(HttpRequest.BodyPublishers.ofString(csv.toString()))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        // A partly seeded database would skew every measurement, so stop on any rejected row
+        if (response.statusCode() != 200 || MAPPER.readTree(response.body()).get("failed").asInt() != 0) {
+            throw new IllegalStateException("Seeding failed (" + response.statusCode() + "): " + response.body());
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,52 @@
+package com.finanote.benchmark;
+
+import com.finanote.dto.AuthResponse;
+import com.finanote.dto.LoginRequest;
+import com.finanote.dto.RegisterRequest;
+import com.finanote.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full login through the AuthenticationManager, dominated by the BCrypt comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LoginBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private LoginRequest loginRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("login");
+        userService = context.getBean(UserService.class);
+
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setName("Bench User");
+        registerRequest.setEmail("login@finanote.local");
+        registerRequest.setPassword("benchmark-password");
+        userService.register(registerRequest);
+
+        loginRequest = new LoginRequest();
+        loginRequest.setEmail(registerRequest.getEmail());
+        loginRequest.setPassword(registerRequest.getPassword());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AuthResponse login() {
+        return userService.login(loginRequest);
+    }
+}
@@ -0,0 +1,104 @@
+package com.finanote.benchmark;
+
+import com.finanote.dto.SearchResult;
+import com.finanote.model.Category;
+import com.finanote.model.Expense;
+import com.finanote.model.User;
+import com.finanote.repository.ExpenseRepository;
+import com.finanote.repository.UserRepository;
+import com.finanote.service.ExpenseService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search over one user's expenses with a warm index: a selective word, a short prefix that
+ * matches a large share of the rows, and a two-word query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SearchBenchmark {
+
+    private static final String[] WORDS = {
+            "coffee", "lunch", "groceries", "bus", "ticket", "rent", "books", "cinema", "pizza",
+            "pharmacy", "gym", "laundry", "concert", "train", "printer", "snacks", "taxi", "phone"
+    };
+
+    @Param({"10000", "100000"})
+    public int expenses;
+
+    private ConfigurableApplicationContext context;
+    private ExpenseService expenseService;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("search");
+        expenseService = context.getBean(ExpenseService.class);
+
+        User user = new User();
+        user.setName("Bench User");
+        user.setEmail("search@finanote.local");
+        user.setPassword("not-used");
+        user.setMonthlyBudgetCents(50000);
+        user = context.getBean(UserRepository.class).save(user);
+        userId = user.getId();
+
+        seed(context.getBean(ExpenseRepository.class), user);
+        // Build the index outside the measurement
+        expenseService.searchExpenses(userId, "coffee", 0, 20);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SearchResult word() {
+        return expenseService.searchExpenses(userId, "concert", 0, 20);
+    }
+
+    @Benchmark
+    public SearchResult shortPrefix() {
+        return expenseService.searchExpenses(userId, "c", 0, 20);
+    }
+
+    @Benchmark
+    public SearchResult twoWords() {
+        return expenseService.searchExpenses(userId, "coffee tra", 0, 20);
+    }
+
+    private void seed(ExpenseRepository expenseRepository, User user) {
+        Random random = new Random(42);
+        Category[] categories = Category.values();
+        LocalDate today = LocalDate.now();
+
+        List<Expense> batch = new ArrayList<>();
+        for (int i = 0; i < expenses; i++) {
+            Expense expense = new Expense();
+            expense.setDescription(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]);
+            expense.setNotes(random.nextInt(4) == 0 ? "paid with card at " + WORDS[random.nextInt(WORDS.length)] + " shop" : null);
+            expense.setAmountCents(100 + random.nextInt(10000));
+            expense.setCategory(categories[random.nextInt(categories.length)]);
+            expense.setExpenseDate(today.minusDays(random.nextInt(3 * 365)));
+            expense.setUser(user);
+            batch.add(expense);
+
+            if (batch.size() == 1000) {
+                expenseRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        expenseRepository.saveAll(batch);
+    }
+}
@@ -0,0 +1,32 @@
+package com.finanote.cluster;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.UUID;
+
+/**
+ * Selects the cluster bus with {@code finanote.cluster.bus}: {@code in-memory} (single node,
+ * the default) or {@code local-broker} (nodes in one JVM sharing a {@link LocalBroker}).
+ * A networked broker plugs in as another {@link ClusterEventBus} bean.
+ */
+@Configuration
+public class ClusterConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "finanote.cluster.bus", havingValue = "in-memory", matchIfMissing = true)
+    public ClusterEventBus inMemoryClusterEventBus() {
+        return new InMemoryClusterEventBus();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "finanote.cluster.bus", havingValue = "local-broker")
+    public ClusterEventBus localBrokerClusterEventBus(
+            @Value("${finanote.cluster.broker-name:finanote}") String brokerName,
+            @Value("${finanote.cluster.node-id:}") String nodeId) {
+        return new LocalBrokerClusterEventBus(LocalBroker.named(brokerName),
+                nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId);
+    }
+}
@@ -0,0 +1,19 @@
+package com.finanote.cluster;
+
+/**
+ * Channel that keeps per-node caches coherent when several instances run behind a load
+ * balancer. Publishing delivers to this node's listeners before returning, so the writing
+ * node always reads its own writes, and to every other node asynchronously.
+ */
+public interface ClusterEventBus {
+
+    void publish(ClusterMessage message);
+
+    void subscribe(ClusterMessageListener listener);
+
+    /**
+     * Registers a listener for messages published by other nodes only, for state this node
+     * already updated itself while writing.
+     */
+    void subscribeRemote(ClusterMessageListener listener);
+}
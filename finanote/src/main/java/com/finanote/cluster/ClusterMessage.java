@@ -0,0 +1,24 @@
+package com.finanote.cluster;
+
+import java.time.YearMonth;
+import java.util.Set;
+
+/**
+ * Invalidation messages exchanged between application nodes. They carry only identifiers, so
+ * each node drops or refreshes its own cached state.
+ */
+public sealed interface ClusterMessage {
+
+    record ExpensesChanged(Long userId, Set<YearMonth> months) implements ClusterMessage {
+    }
+
+    record BudgetChanged(Long userId) implements ClusterMessage {
+    }
+
+    /**
+     * {@code tokenId} is the token's jti claim; {@code expiresAt} (epoch millis) bounds how
+     * long the revocation must be remembered.
+     */
+    record TokenRevoked(String tokenId, long expiresAt) implements ClusterMessage {
+    }
+}
@@ -0,0 +1,7 @@
+package com.finanote.cluster;
+
+@FunctionalInterface
+public interface ClusterMessageListener {
+
+    void onMessage(ClusterMessage message);
+}
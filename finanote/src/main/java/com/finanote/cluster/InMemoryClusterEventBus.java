@@ -0,0 +1,54 @@
+package com.finanote.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Single-node bus: messages only reach listeners in this application instance.
+ */
+public class InMemoryClusterEventBus implements ClusterEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryClusterEventBus.class);
+
+    private final List<ClusterMessageListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<ClusterMessageListener> remoteListeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(ClusterMessage message) {
+        dispatch(message, false);
+    }
+
+    @Override
+    public void subscribe(ClusterMessageListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void subscribeRemote(ClusterMessageListener listener) {
+        remoteListeners.add(listener);
+    }
+
+    /**
+     * Hands the message to every local listener; one failing listener does not keep the
+     * message from the others. Remote-only listeners are called when {@code remote} is set.
+     */
+    protected void dispatch(ClusterMessage message, boolean remote) {
+        notify(listeners, message);
+        if (remote) {
+            notify(remoteListeners, message);
+        }
+    }
+
+    private static void notify(List<ClusterMessageListener> targets, ClusterMessage message) {
+        for (ClusterMessageListener listener : targets) {
+            try {
+                listener.onMessage(message);
+            } catch (RuntimeException e) {
+                log.error("Cluster message listener failed for {}", message, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.finanote.cluster;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process stand-in for a message broker, shared by name between application contexts in
+ * the same JVM (e.g. several nodes started by one integration test). Each node receives
+ * messages in publish order on its own delivery thread, like a subscriber of a real topic.
+ */
+public final class LocalBroker {
+
+    private static final Map<String, LocalBroker> BROKERS = new ConcurrentHashMap<>();
+
+    private final Map<String, Subscription> nodes = new ConcurrentHashMap<>();
+
+    private LocalBroker() {
+    }
+
+    public static LocalBroker named(String name) {
+        return BROKERS.computeIfAbsent(name, key -> new LocalBroker());
+    }
+
+    void join(String nodeId, LocalBrokerClusterEventBus bus) {
+        ExecutorService delivery = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("cluster-bus-" + nodeId).daemon().factory());
+        Subscription previous = nodes.put(nodeId, new Subscription(bus, delivery));
+        if (previous != null) {
+            previous.delivery().shutdown();
+        }
+    }
+
+    void leave(String nodeId) {
+        Subscription subscription = nodes.remove(nodeId);
+        if (subscription != null) {
+            subscription.delivery().shutdown();
+        }
+    }
+
+    void send(String originNodeId, ClusterMessage message) {
+        nodes.forEach((nodeId, subscription) -> {
+            if (!nodeId.equals(originNodeId)) {
+                subscription.delivery().execute(() -> subscription.bus().receive(message));
+            }
+        });
+    }
+
+    private record Subscription(LocalBrokerClusterEventBus bus, ExecutorService delivery) {
+    }
+}
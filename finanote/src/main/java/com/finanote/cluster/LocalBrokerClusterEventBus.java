@@ -0,0 +1,34 @@
+package com.finanote.cluster;
+
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Bus connected to a {@link LocalBroker}: local listeners are called synchronously, other
+ * nodes on the same broker receive the message asynchronously.
+ */
+public class LocalBrokerClusterEventBus extends InMemoryClusterEventBus implements DisposableBean {
+
+    private final LocalBroker broker;
+    private final String nodeId;
+
+    public LocalBrokerClusterEventBus(LocalBroker broker, String nodeId) {
+        this.broker = broker;
+        this.nodeId = nodeId;
+        broker.join(nodeId, this);
+    }
+
+    @Override
+    public void publish(ClusterMessage message) {
+        dispatch(message, false);
+        broker.send(nodeId, message);
+    }
+
+    void receive(ClusterMessage message) {
+        dispatch(message, true);
+    }
+
+    @Override
+    public void destroy() {
+        broker.leave(nodeId);
+    }
+}
@@ -0,0 +1,103 @@
+package com.finanote.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Semaphore in front of the persistence layer, sized to the connection pool. With virtual
+ * threads a burst of requests would otherwise all queue inside Hikari; the gate makes them
+ * wait (bounded by the acquire timeout) before a transaction or repository call starts,
+ * including transactions opened through {@link GatedTransactionTemplate}.
+ * Permits are re-entrant per thread, so nested repository calls inside a transaction do not
+ * take a second permit.
+ */
+@Component
+public class DatabaseConcurrencyGate implements MeterBinder {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long acquireTimeoutNanos;
+    private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    public DatabaseConcurrencyGate(@Value("${finanote.db-gate.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int maxPermits,
+                                   @Value("${finanote.db-gate.acquire-timeout:5s}") Duration acquireTimeout) {
+        this.permits = new Semaphore(maxPermits, true);
+        this.maxPermits = maxPermits;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    /**
+     * Runs {@code call} holding a permit. When the outermost call returns a {@link Stream} the
+     * permit stays with the stream and is released when it is closed, since the cursor keeps
+     * its connection open until then.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(GatedCall<T> call) throws Throwable {
+        int[] held = depth.get();
+        boolean outermost = held[0] == 0;
+        if (outermost) {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new ServiceBusyException("Database is busy, please retry", 1);
+            }
+        }
+        held[0]++;
+        boolean handedToStream = false;
+        try {
+            T result = call.call();
+            if (outermost && result instanceof Stream<?> stream) {
+                AtomicBoolean released = new AtomicBoolean();
+                handedToStream = true;
+                return (T) stream.onClose(() -> {
+                    if (released.compareAndSet(false, true)) {
+                        permits.release();
+                    }
+                });
+            }
+            return result;
+        } finally {
+            held[0]--;
+            if (held[0] == 0) {
+                depth.remove();
+                if (!handedToStream) {
+                    permits.release();
+                }
+            }
+        }
+    }
+
+    public int getMaxPermits() {
+        return maxPermits;
+    }
+
+    public int getInUse() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("finanote.db.gate.in.use", this, DatabaseConcurrencyGate::getInUse)
+                .description("Database gate permits currently held")
+                .register(registry);
+        Gauge.builder("finanote.db.gate.waiting", this, DatabaseConcurrencyGate::getQueueLength)
+                .description("Threads waiting for a database gate permit")
+                .register(registry);
+    }
+
+    @FunctionalInterface
+    public interface GatedCall<T> {
+        T call() throws Throwable;
+    }
+}
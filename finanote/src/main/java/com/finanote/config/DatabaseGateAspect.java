@@ -0,0 +1,33 @@
+package com.finanote.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Routes transactional service methods and repository calls through the
+ * {@link DatabaseConcurrencyGate}. Ordered ahead of the transaction interceptor so the
+ * permit is held before a connection is borrowed.
+ */
+@Aspect
+@Component
+@Order(0)
+@ConditionalOnProperty(name = "finanote.db-gate.enabled", havingValue = "true")
+public class DatabaseGateAspect {
+
+    private final DatabaseConcurrencyGate gate;
+
+    public DatabaseGateAspect(DatabaseConcurrencyGate gate) {
+        this.gate = gate;
+    }
+
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..)) " +
+            "|| @annotation(org.springframework.transaction.annotation.Transactional) " +
+            "|| @within(org.springframework.transaction.annotation.Transactional)")
+    public Object gate(ProceedingJoinPoint joinPoint) throws Throwable {
+        return gate.execute(joinPoint::proceed);
+    }
+}
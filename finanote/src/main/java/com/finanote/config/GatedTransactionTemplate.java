@@ -0,0 +1,51 @@
+package com.finanote.config;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link TransactionTemplate} that takes a {@link DatabaseConcurrencyGate} permit before the
+ * transaction borrows a connection, the programmatic counterpart of {@link DatabaseGateAspect}.
+ * Without a gate it behaves like a plain template.
+ */
+public class GatedTransactionTemplate extends TransactionTemplate {
+
+    private final DatabaseConcurrencyGate gate;
+
+    public GatedTransactionTemplate(PlatformTransactionManager transactionManager, DatabaseConcurrencyGate gate) {
+        super(transactionManager);
+        this.gate = gate;
+    }
+
+    private GatedTransactionTemplate(PlatformTransactionManager transactionManager, TransactionDefinition definition,
+                                     DatabaseConcurrencyGate gate) {
+        super(transactionManager, definition);
+        this.gate = gate;
+    }
+
+    /**
+     * A read-only copy sharing this template's transaction manager and gate.
+     */
+    public GatedTransactionTemplate readOnly() {
+        GatedTransactionTemplate copy = new GatedTransactionTemplate(getTransactionManager(), this, gate);
+        copy.setReadOnly(true);
+        return copy;
+    }
+
+    @Override
+    public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+        if (gate == null) {
+            return super.execute(action);
+        }
+        try {
+            return gate.execute(() -> super.execute(action));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.finanote.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Checks each request's statement count against its {@link QueryBudget} (or the configured
+ * default) and keeps the most recent violations for inspection.
+ */
+@Component
+public class QueryBudgetMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetMonitor.class);
+
+    private static final int MAX_RECENT = 100;
+
+    private final MeterRegistry meterRegistry;
+    private final int defaultBudget;
+    private final Deque<Violation> recent = new ArrayDeque<>();
+
+    public QueryBudgetMonitor(MeterRegistry meterRegistry,
+                              @Value("${finanote.query-budget.default:-1}") int defaultBudget) {
+        this.meterRegistry = meterRegistry;
+        this.defaultBudget = defaultBudget;
+    }
+
+    /**
+     * @param budget the handler's declared budget, or {@code null} to use the default
+     */
+    public void check(String method, String uri, long statements, Integer budget) {
+        int limit = budget != null ? budget : defaultBudget;
+        if (limit < 0 || statements <= limit) {
+            return;
+        }
+
+        log.warn("{} {} issued {} SQL statements, budget is {}", method, uri, statements, limit);
+        Counter.builder("finanote.query.budget.exceeded")
+                .description("Requests that issued more SQL statements than their budget")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .increment();
+
+        synchronized (recent) {
+            if (recent.size() == MAX_RECENT) {
+                recent.removeFirst();
+            }
+            recent.addLast(new Violation(Instant.now(), method, uri, statements, limit));
+        }
+    }
+
+    public List<Violation> getRecentViolations() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+
+    public record Violation(Instant at, String method, String uri, long statements, int budget) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.finanote.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each request issued, tagged by method and route pattern,
+ * as the {@code finanote.hibernate.statements} distribution, and checks the count against the
+ * handler's {@link QueryBudget}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_ATTRIBUTE = RequestMetricsFilter.class.getName() + ".statements";
+
+    private final MeterRegistry meterRegistry;
+    private final QueryBudgetMonitor queryBudgetMonitor;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry, QueryBudgetMonitor queryBudgetMonitor) {
+        this.meterRegistry = meterRegistry;
+        this.queryBudgetMonitor = queryBudgetMonitor;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = StatementCounter.current();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long statements = StatementCounter.current() - start;
+            request.setAttribute(STATEMENTS_ATTRIBUTE, statements);
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder("finanote.hibernate.statements")
+                    .description("SQL statements issued per request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(statements);
+
+            queryBudgetMonitor.check(request.getMethod(), uri, statements,
+                    (Integer) request.getAttribute(QueryBudgetInterceptor.BUDGET_ATTRIBUTE));
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.finanote.config;
 
 import com.finanote.security.JwtAuthenticationFilter;
+import com.finanote.security.OffloadingPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -8,11 +10,11 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -33,6 +35,8 @@ public class SecurityConfig {
                         .requestMatchers("/", "/index.html", "/login.html", "/register.html").permitAll()
                         .requestMatchers("/css/**", "/js/**", "/images/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**", "/api/system/**").hasRole(JwtAuthenticationFilter.OPERATOR_ROLE)
                         .anyRequest().authenticated()
                 )
                 .headers(headers -> headers.frameOptions(frame -> frame.sameOrigin()))
@@ -41,9 +45,14 @@ public class SecurityConfig {
         return http.build();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public OffloadingPasswordEncoder passwordEncoder(
+            @Value("${finanote.password-hashing.bcrypt-strength:10}") int strength,
+            @Value("${finanote.password-hashing.threads:0}") int threads,
+            @Value("${finanote.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${finanote.password-hashing.wait-timeout:5s}") Duration waitTimeout) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new OffloadingPasswordEncoder(strength, poolSize, queueCapacity, waitTimeout);
     }
 
     @Bean
@@ -0,0 +1,18 @@
+package com.finanote.config;
+
+/**
+ * Thrown when a bounded resource cannot admit more work; answered with 503 and Retry-After.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
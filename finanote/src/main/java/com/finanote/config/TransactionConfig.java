@@ -0,0 +1,21 @@
+package com.finanote.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+public class TransactionConfig {
+
+    /**
+     * Replaces the auto-configured template so programmatic transactions pass the database
+     * gate like {@code @Transactional} methods do.
+     */
+    @Bean
+    public GatedTransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager,
+                                                        DatabaseConcurrencyGate gate,
+                                                        @Value("${finanote.db-gate.enabled:false}") boolean gateEnabled) {
+        return new GatedTransactionTemplate(transactionManager, gateEnabled ? gate : null);
+    }
+}
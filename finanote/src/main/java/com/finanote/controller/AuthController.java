@@ -3,6 +3,7 @@ package com.finanote.controller;
 import com.finanote.dto.AuthResponse;
 import com.finanote.dto.LoginRequest;
 import com.finanote.dto.RegisterRequest;
+import com.finanote.security.JwtTokenProvider;
 import com.finanote.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -13,9 +14,11 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final UserService userService;
+    private final JwtTokenProvider jwtTokenProvider;
 
-    public AuthController(UserService userService) {
+    public AuthController(UserService userService, JwtTokenProvider jwtTokenProvider) {
         this.userService = userService;
+        this.jwtTokenProvider = jwtTokenProvider;
     }
 
     @PostMapping("/register")
@@ -29,4 +32,12 @@ public class AuthController {
         AuthResponse response = userService.login(request);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            jwtTokenProvider.revoke(authorization.substring(7));
+        }
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -1,105 +1,260 @@
 package com.finanote.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finanote.config.QueryBudget;
 import com.finanote.dto.DashboardStats;
+import com.finanote.dto.ExpenseFilter;
+import com.finanote.dto.ExpensePage;
 import com.finanote.dto.ExpenseRequest;
 import com.finanote.dto.ExpenseResponse;
+import com.finanote.dto.ImportResult;
+import com.finanote.dto.SearchResult;
+import com.finanote.dto.TrendStats;
 import com.finanote.model.Category;
-import com.finanote.model.User;
+import com.finanote.model.Money;
+import com.finanote.security.AuthenticatedUser;
+import com.finanote.service.ExpenseImportService;
 import com.finanote.service.ExpenseService;
-import com.finanote.service.UserService;
+import com.finanote.service.TrendService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/expenses")
 public class ExpenseController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final ExpenseService expenseService;
-    private final UserService userService;
+    private final ExpenseImportService expenseImportService;
+    private final TrendService trendService;
+    private final ObjectMapper objectMapper;
 
-    public ExpenseController(ExpenseService expenseService, UserService userService) {
+    public ExpenseController(ExpenseService expenseService, ExpenseImportService expenseImportService,
+                             TrendService trendService, ObjectMapper objectMapper) {
         this.expenseService = expenseService;
-        this.userService = userService;
+        this.expenseImportService = expenseImportService;
+        this.trendService = trendService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
     public ResponseEntity<ExpenseResponse> createExpense(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @Valid @RequestBody ExpenseRequest request) {
-        User user = userService.getUserByEmail(userDetails.getUsername());
-        ExpenseResponse response = expenseService.createExpense(user.getId(), request);
+        ExpenseResponse response = expenseService.createExpense(user.id(), request);
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportResult> importJson(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            HttpServletRequest request) throws IOException {
+        ImportResult result = expenseImportService.importJson(user.id(), request.getInputStream());
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportResult> importCsv(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            HttpServletRequest request) throws IOException {
+        ImportResult result = expenseImportService.importCsv(user.id(), request.getReader());
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping
-    public ResponseEntity<List<ExpenseResponse>> getAllExpenses(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        User user = userService.getUserByEmail(userDetails.getUsername());
-        List<ExpenseResponse> expenses = expenseService.getAllExpenses(user.getId());
+    @QueryBudget(1)
+    public ResponseEntity<List<ExpenseResponse>> getAllExpenses(@AuthenticationPrincipal AuthenticatedUser user) {
+        List<ExpenseResponse> expenses = expenseService.getAllExpenses(user.id());
         return ResponseEntity.ok(expenses);
     }
 
+    @GetMapping("/page")
+    @QueryBudget(1)
+    public ResponseEntity<ExpensePage> getExpensePage(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        ExpensePage page = expenseService.getExpensePage(user.id(), cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Expenses matching any combination of categories, an amount range, a date range (inclusive)
+     * and a description prefix, sorted by {@code date_desc} (default), {@code date_asc},
+     * {@code amount_desc} or {@code amount_asc} and paged by {@code nextCursor}.
+     */
+    @GetMapping("/filter")
+    @QueryBudget(1)
+    public ResponseEntity<ExpensePage> filterExpenses(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) Set<Category> categories,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String description,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        ExpenseFilter filter = new ExpenseFilter();
+        filter.setCategories(categories);
+        filter.setMinAmountCents(minAmount == null ? null : Money.toCents(minAmount));
+        filter.setMaxAmountCents(maxAmount == null ? null : Money.toCents(maxAmount));
+        filter.setFrom(from);
+        filter.setTo(to);
+        filter.setDescriptionPrefix(description);
+
+        ExpensePage page = expenseService.filterExpenses(user.id(), filter, sort, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    // The first search of a user also reads their documents into the index
+    @GetMapping("/search")
+    @QueryBudget(2)
+    public ResponseEntity<SearchResult> searchExpenses(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam String q,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        SearchResult result = expenseService.searchExpenses(user.id(), q, page, size);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public void streamAllExpenses(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+
+        try (ExpenseRowWriter writer = ExpenseRowWriter.ndjson(objectMapper, response.getOutputStream())) {
+            expenseService.streamAllExpenses(user.id(), writer.asConsumer());
+        }
+    }
+
+    @GetMapping("/export")
+    public void exportExpenses(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("'from' must not be after 'to'");
+        }
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new RuntimeException("Unsupported export format: " + format);
+        }
+
+        response.setContentType(csv ? "text/csv" : NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"expenses-" + from + "-" + to + (csv ? ".csv" : ".ndjson") + "\"");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        OutputStream out = response.getOutputStream();
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            out = new GZIPOutputStream(out, 8192);
+        }
+
+        try (ExpenseRowWriter writer = csv ? ExpenseRowWriter.csv(out) : ExpenseRowWriter.ndjson(objectMapper, out)) {
+            expenseService.streamExpensesByDateRange(user.id(), from, to, writer.asConsumer());
+        }
+    }
+
     @GetMapping("/month")
+    @QueryBudget(1)
     public ResponseEntity<List<ExpenseResponse>> getExpensesByMonth(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestParam int year,
             @RequestParam int month) {
-        User user = userService.getUserByEmail(userDetails.getUsername());
-        List<ExpenseResponse> expenses = expenseService.getExpensesByMonth(user.getId(), year, month);
+        List<ExpenseResponse> expenses = expenseService.getExpensesByMonth(user.id(), year, month);
         return ResponseEntity.ok(expenses);
     }
 
     @GetMapping("/{id}")
+    @QueryBudget(1)
     public ResponseEntity<ExpenseResponse> getExpenseById(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long id) {
-        User user = userService.getUserByEmail(userDetails.getUsername());
-        ExpenseResponse response = expenseService.getExpenseById(user.getId(), id);
+        ExpenseResponse response = expenseService.getExpenseById(user.id(), id);
         return ResponseEntity.ok(response);
     }
 
+    // Locked read and UPDATE, plus the rollup and running-total deltas; the worst case moves an
+    // expense to another month and category and crosses both budgets' thresholds there
     @PutMapping("/{id}")
+    @QueryBudget(16)
     public ResponseEntity<ExpenseResponse> updateExpense(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long id,
             @Valid @RequestBody ExpenseRequest request) {
-        User user = userService.getUserByEmail(userDetails.getUsername());
-        ExpenseResponse response = expenseService.updateExpense(user.getId(), id, request);
+        ExpenseResponse response = expenseService.updateExpense(user.id(), id, request);
         return ResponseEntity.ok(response);
     }
 
+    // Locked read and DELETE, two rollup statements and the month and category deltas
     @DeleteMapping("/{id}")
+    @QueryBudget(6)
     public ResponseEntity<Void> deleteExpense(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long id) {
-        User user = userService.getUserByEmail(userDetails.getUsername());
-        expenseService.deleteExpense(user.getId(), id);
+        expenseService.deleteExpense(user.id(), id);
         return ResponseEntity.ok().build();
     }
 
     @GetMapping("/dashboard")
+    @QueryBudget(2)
     public ResponseEntity<DashboardStats> getDashboardStats(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false) Integer month) {
-        User user = userService.getUserByEmail(userDetails.getUsername());
-
         if (year == null) year = LocalDate.now().getYear();
         if (month == null) month = LocalDate.now().getMonthValue();
 
-        DashboardStats stats = expenseService.getDashboardStats(user.getId(), year, month);
+        DashboardStats stats = expenseService.getDashboardStats(user.id(), year, month);
         return ResponseEntity.ok(stats);
     }
 
+    /**
+     * Monthly totals per category for {@code from}..{@code to} (yyyy-MM, inclusive) with
+     * year-over-year changes; defaults to the twelve months ending with the current one.
+     */
+    @GetMapping("/trends")
+    @QueryBudget(1)
+    public ResponseEntity<TrendStats> getTrends(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        if (to == null) to = YearMonth.now();
+        if (from == null) from = to.minusMonths(11);
+
+        return ResponseEntity.ok(trendService.getTrends(user.id(), from, to));
+    }
+
     @GetMapping("/categories")
     public ResponseEntity<List<Map<String, String>>> getCategories() {
         List<Map<String, String>> categories = Arrays.stream(Category.values())
@@ -0,0 +1,95 @@
+package com.finanote.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.finanote.dto.ExpenseResponse;
+import com.finanote.model.Money;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Writes expenses to a response body one row at a time, for the streaming and export endpoints.
+ */
+interface ExpenseRowWriter extends Closeable {
+
+    void write(ExpenseResponse expense) throws IOException;
+
+    default Consumer<ExpenseResponse> asConsumer() {
+        return expense -> {
+            try {
+                write(expense);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    static ExpenseRowWriter ndjson(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ExpenseResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.createGenerator(out);
+        generator.setRootValueSeparator(null);
+
+        return new ExpenseRowWriter() {
+            @Override
+            public void write(ExpenseResponse expense) throws IOException {
+                writer.writeValue(generator, expense);
+                generator.writeRaw('\n');
+            }
+
+            @Override
+            public void close() throws IOException {
+                generator.close();
+            }
+        };
+    }
+
+    /**
+     * CSV with the same column names the import endpoint accepts, plus the id.
+     */
+    static ExpenseRowWriter csv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("id,description,amount,category,expenseDate,notes\r\n");
+
+        return new ExpenseRowWriter() {
+            @Override
+            public void write(ExpenseResponse expense) throws IOException {
+                writer.write(String.valueOf(expense.getId()));
+                writer.write(',');
+                writeField(expense.getDescription());
+                writer.write(',');
+                writer.write(Money.toDecimal(expense.getAmountCents()).toPlainString());
+                writer.write(',');
+                writer.write(expense.getCategory().name());
+                writer.write(',');
+                writer.write(expense.getExpenseDate().toString());
+                writer.write(',');
+                writeField(expense.getNotes());
+                writer.write("\r\n");
+            }
+
+            private void writeField(String value) throws IOException {
+                if (value == null) {
+                    return;
+                }
+                if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                        && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                    writer.write(value);
+                    return;
+                }
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            }
+
+            @Override
+            public void close() throws IOException {
+                writer.close();
+            }
+        };
+    }
+}
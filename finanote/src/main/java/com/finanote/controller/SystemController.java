@@ -0,0 +1,59 @@
+package com.finanote.controller;
+
+import com.finanote.config.QueryBudgetMonitor;
+import com.finanote.security.OffloadingPasswordEncoder;
+import com.finanote.service.DashboardCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/system")
+public class SystemController {
+
+    private final DashboardCache dashboardCache;
+    private final OffloadingPasswordEncoder passwordEncoder;
+    private final QueryBudgetMonitor queryBudgetMonitor;
+
+    public SystemController(DashboardCache dashboardCache, OffloadingPasswordEncoder passwordEncoder,
+                            QueryBudgetMonitor queryBudgetMonitor) {
+        this.dashboardCache = dashboardCache;
+        this.passwordEncoder = passwordEncoder;
+        this.queryBudgetMonitor = queryBudgetMonitor;
+    }
+
+    @GetMapping("/dashboard-cache")
+    public ResponseEntity<Map<String, Object>> getDashboardCacheStats() {
+        CacheStats stats = dashboardCache.stats();
+        return ResponseEntity.ok(Map.of(
+                "size", dashboardCache.size(),
+                "hits", stats.hitCount(),
+                "misses", stats.missCount(),
+                "hitRate", stats.hitRate(),
+                "evictions", stats.evictionCount(),
+                "invalidations", dashboardCache.invalidationCount()
+        ));
+    }
+
+    @GetMapping("/password-hashing")
+    public ResponseEntity<Map<String, Object>> getPasswordHashingStats() {
+        return ResponseEntity.ok(Map.of(
+                "queueDepth", passwordEncoder.getQueueDepth(),
+                "active", passwordEncoder.getActiveCount(),
+                "completed", passwordEncoder.getCompletedCount(),
+                "rejected", passwordEncoder.getRejectedCount(),
+                "meanHashMillis", passwordEncoder.getMeanHashMillis(),
+                "maxHashMillis", passwordEncoder.getMaxHashMillis()
+        ));
+    }
+
+    @GetMapping("/query-budget")
+    public ResponseEntity<List<QueryBudgetMonitor.Violation>> getQueryBudgetViolations() {
+        return ResponseEntity.ok(queryBudgetMonitor.getRecentViolations());
+    }
+}
@@ -1,12 +1,19 @@
 package com.finanote.controller;
 
+import com.finanote.model.Category;
+import com.finanote.model.Money;
 import com.finanote.model.User;
+import com.finanote.repository.UserBudgets;
+import com.finanote.security.AuthenticatedUser;
 import com.finanote.service.UserService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
 
 @RestController
@@ -20,25 +27,67 @@ public class UserController {
     }
 
     @GetMapping("/profile")
-    public ResponseEntity<Map<String, Object>> getProfile(@AuthenticationPrincipal UserDetails userDetails) {
-        User user = userService.getUserByEmail(userDetails.getUsername());
+    public ResponseEntity<Map<String, Object>> getProfile(@AuthenticationPrincipal AuthenticatedUser user) {
+        UserBudgets budgets = userService.getBudgets(user.id());
         return ResponseEntity.ok(Map.of(
-                "id", user.getId(),
-                "name", user.getName(),
-                "email", user.getEmail(),
-                "monthlyBudget", user.getMonthlyBudget()
+                "id", user.id(),
+                "name", user.name(),
+                "email", user.email(),
+                "monthlyBudget", Money.toDecimal(budgets.monthlyBudgetCents()),
+                "categoryBudgets", toDecimals(budgets.categoryBudgetCents())
         ));
     }
 
     @PutMapping("/budget")
     public ResponseEntity<Map<String, Object>> updateBudget(
-            @AuthenticationPrincipal UserDetails userDetails,
-            @RequestBody Map<String, Double> request) {
-        User user = userService.getUserByEmail(userDetails.getUsername());
-        User updatedUser = userService.updateBudget(user.getId(), request.get("budget"));
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestBody Map<String, BigDecimal> request) {
+        BigDecimal budget = request.get("budget");
+        if (budget == null) {
+            throw new RuntimeException("Budget is required");
+        }
+        User updatedUser = userService.updateBudget(user.id(), Money.toCents(budget));
         return ResponseEntity.ok(Map.of(
                 "id", updatedUser.getId(),
-                "monthlyBudget", updatedUser.getMonthlyBudget()
+                "monthlyBudget", Money.toDecimal(updatedUser.getMonthlyBudgetCents())
         ));
     }
+
+    /**
+     * Replaces the per-category monthly budgets, e.g. {@code {"HOUSING": 600, "FOOD": 250.50}};
+     * categories left out have no budget.
+     */
+    @PutMapping("/category-budgets")
+    public ResponseEntity<Map<String, Object>> updateCategoryBudgets(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestBody Map<String, BigDecimal> request) {
+        Map<Category, Long> budgets = new EnumMap<>(Category.class);
+        request.forEach((name, amount) -> {
+            Category category;
+            try {
+                category = Category.valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unknown category: " + name);
+            }
+            if (amount != null) {
+                budgets.put(category, Money.toCents(amount));
+            }
+        });
+
+        User updatedUser = userService.updateCategoryBudgets(user.id(), budgets);
+        return ResponseEntity.ok(Map.of(
+                "id", updatedUser.getId(),
+                "categoryBudgets", toDecimals(updatedUser.getCategoryBudgetCents())
+        ));
+    }
+
+    private static Map<String, BigDecimal> toDecimals(long[] categoryBudgetCents) {
+        Map<String, BigDecimal> budgets = new LinkedHashMap<>();
+        for (Category category : Category.values()) {
+            if (categoryBudgetCents[category.ordinal()] > 0) {
+                budgets.put(category.name(), Money.toDecimal(categoryBudgetCents[category.ordinal()]));
+            }
+        }
+        return budgets;
+    }
 }
@@ -0,0 +1,47 @@
+package com.finanote.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.finanote.model.Money;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Reads a decimal amount (number or numeric string) into whole cents.
+ */
+public class CentsDeserializer extends StdDeserializer<Long> {
+
+    public CentsDeserializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        BigDecimal amount;
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            String text = parser.getText().trim();
+            if (text.isEmpty()) {
+                return null;
+            }
+            try {
+                amount = new BigDecimal(text);
+            } catch (NumberFormatException e) {
+                throw InvalidFormatException.from(parser, "Amount is not a number", text, Long.class);
+            }
+        } else if (parser.currentToken().isNumeric()) {
+            amount = parser.getDecimalValue();
+        } else {
+            return (Long) context.handleUnexpectedToken(Long.class, parser);
+        }
+
+        try {
+            return Money.toCents(amount);
+        } catch (IllegalArgumentException e) {
+            throw InvalidFormatException.from(parser, e.getMessage(), amount, Long.class);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.finanote.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.finanote.model.Money;
+
+import java.io.IOException;
+
+/**
+ * Writes a cents value as a decimal number, e.g. {@code 1250} as {@code 12.50}, so the JSON
+ * contract keeps plain currency amounts.
+ */
+public class CentsSerializer extends StdSerializer<Long> {
+
+    public CentsSerializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public void serialize(Long cents, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeNumber(Money.toDecimal(cents));
+    }
+}
@@ -1,17 +1,31 @@
 package com.finanote.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Data;
 
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Money fields hold whole cents and are written to JSON as decimal amounts.
+ */
 @Data
 public class DashboardStats {
-    private Double totalExpenses;
-    private Double monthlyBudget;
-    private Double remainingBudget;
-    private Double budgetPercentage;
-    private Map<String, Double> expensesByCategory;
+    @JsonSerialize(using = CentsSerializer.class)
+    private long totalExpenses;
+    @JsonSerialize(using = CentsSerializer.class)
+    private long monthlyBudget;
+    @JsonSerialize(using = CentsSerializer.class)
+    private long remainingBudget;
+    private double budgetPercentage;
+    @JsonSerialize(contentUsing = CentsSerializer.class)
+    private Map<String, Long> expensesByCategory;
+    // Only categories with a budget are listed
+    @JsonSerialize(contentUsing = CentsSerializer.class)
+    private Map<String, Long> categoryBudgets;
+    @JsonSerialize(contentUsing = CentsSerializer.class)
+    private Map<String, Long> categoryRemaining;
+    private Map<String, Double> categoryBudgetPercentage;
     private Map<String, String> categoryColors;
     private List<DailyExpense> dailyExpenses;
     private int totalTransactions;
@@ -19,9 +33,10 @@ public class DashboardStats {
     @Data
     public static class DailyExpense {
         private int day;
-        private Double amount;
+        @JsonSerialize(using = CentsSerializer.class)
+        private long amount;
 
-        public DailyExpense(int day, Double amount) {
+        public DailyExpense(int day, long amount) {
             this.day = day;
             this.amount = amount;
         }
@@ -0,0 +1,21 @@
+package com.finanote.dto;
+
+import com.finanote.model.Category;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Criteria of the filtered listing; every field is optional and set fields are combined with AND.
+ * Dates and amounts are inclusive bounds.
+ */
+@Data
+public class ExpenseFilter {
+    private Set<Category> categories;
+    private Long minAmountCents;
+    private Long maxAmountCents;
+    private LocalDate from;
+    private LocalDate to;
+    private String descriptionPrefix;
+}
@@ -0,0 +1,13 @@
+package com.finanote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ExpensePage {
+    private List<ExpenseResponse> items;
+    private String nextCursor;
+}
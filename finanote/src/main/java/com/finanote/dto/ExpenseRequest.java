@@ -1,5 +1,7 @@
 package com.finanote.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.finanote.model.Category;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -16,7 +18,9 @@ public class ExpenseRequest {
 
     @NotNull(message = "Amount is required")
     @Positive(message = "Amount must be positive")
-    private Double amount;
+    @JsonProperty("amount")
+    @JsonDeserialize(using = CentsDeserializer.class)
+    private Long amountCents;
 
     @NotNull(message = "Category is required")
     private Category category;
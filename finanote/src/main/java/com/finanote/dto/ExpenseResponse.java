@@ -1,27 +1,49 @@
 package com.finanote.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.finanote.model.Category;
 import com.finanote.model.Expense;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
 public class ExpenseResponse {
     private Long id;
     private String description;
-    private Double amount;
+    @JsonProperty("amount")
+    @JsonSerialize(using = CentsSerializer.class)
+    private long amountCents;
     private Category category;
     private String categoryDisplayName;
     private String categoryColor;
     private LocalDate expenseDate;
     private String notes;
 
+    /**
+     * Used by the JPQL constructor expressions in {@code ExpenseRepository}, which select these
+     * columns straight into the response without hydrating an {@link Expense}.
+     */
+    public ExpenseResponse(Long id, String description, long amountCents, Category category,
+                           LocalDate expenseDate, String notes) {
+        this.id = id;
+        this.description = description;
+        this.amountCents = amountCents;
+        this.category = category;
+        this.categoryDisplayName = category.getDisplayName();
+        this.categoryColor = category.getColor();
+        this.expenseDate = expenseDate;
+        this.notes = notes;
+    }
+
     public static ExpenseResponse fromExpense(Expense expense) {
         ExpenseResponse response = new ExpenseResponse();
         response.setId(expense.getId());
         response.setDescription(expense.getDescription());
-        response.setAmount(expense.getAmount());
+        response.setAmountCents(expense.getAmountCents());
         response.setCategory(expense.getCategory());
         response.setCategoryDisplayName(expense.getCategory().getDisplayName());
         response.setCategoryColor(expense.getCategory().getColor());
@@ -0,0 +1,55 @@
+package com.finanote.dto;
+
+import java.util.Locale;
+
+/**
+ * Orderings offered by the filtered listing. Each sorts by one indexed column and breaks ties
+ * by id in the same direction, which keeps the order total for keyset paging.
+ */
+public enum ExpenseSort {
+    DATE_DESC("expenseDate", false),
+    DATE_ASC("expenseDate", true),
+    AMOUNT_DESC("amountCents", false),
+    AMOUNT_ASC("amountCents", true);
+
+    private final String property;
+    private final boolean ascending;
+
+    ExpenseSort(String property, boolean ascending) {
+        this.property = property;
+        this.ascending = ascending;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public boolean byDate() {
+        return property.equals("expenseDate");
+    }
+
+    /**
+     * The sort column of {@code expense} as a number: epoch day for dates, cents for amounts.
+     */
+    public long keyOf(ExpenseResponse expense) {
+        return byDate() ? expense.getExpenseDate().toEpochDay() : expense.getAmountCents();
+    }
+
+    /**
+     * Accepts {@code date_desc}, {@code amount-asc} and the like; defaults to newest first.
+     */
+    public static ExpenseSort parse(String value) {
+        if (value == null || value.isBlank()) {
+            return DATE_DESC;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported sort: " + value);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.finanote.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position of the filtered listing: the sort it was issued for, the sort key of
+ * the last row (see {@link ExpenseSort#keyOf}) and its id.
+ */
+public record FilterCursor(ExpenseSort sort, long key, long id) {
+
+    public String encode() {
+        String raw = sort + ":" + key + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FilterCursor decode(String token, ExpenseSort expected) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+            if (parts.length == 3 && ExpenseSort.valueOf(parts[0]) == expected) {
+                return new FilterCursor(expected, Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        throw new RuntimeException("Cursor does not match the requested sort");
+    }
+}
@@ -0,0 +1,15 @@
+package com.finanote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class SearchResult {
+    private List<ExpenseResponse> items;
+    private long total;
+    private int page;
+    private int size;
+}
@@ -0,0 +1,39 @@
+package com.finanote.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Monthly totals per category over a span of months, each compared with the same month of
+ * the previous year. Money fields hold whole cents and are written to JSON as decimal amounts.
+ */
+@Data
+@AllArgsConstructor
+public class TrendStats {
+    private YearMonth from;
+    private YearMonth to;
+    private List<MonthTrend> months;
+    private Map<String, String> categoryColors;
+
+    @Data
+    @AllArgsConstructor
+    public static class MonthTrend {
+        private YearMonth month;
+        @JsonSerialize(using = CentsSerializer.class)
+        private long total;
+        private long transactionCount;
+        @JsonSerialize(contentUsing = CentsSerializer.class)
+        private Map<String, Long> byCategory;
+        @JsonSerialize(using = CentsSerializer.class)
+        private long previousYearTotal;
+        @JsonSerialize(using = CentsSerializer.class)
+        private long yearOverYearChange;
+        // null when the same month of the previous year had no expenses
+        private Double yearOverYearPercentage;
+    }
+}
@@ -0,0 +1,56 @@
+package com.finanote.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row for a crossed budget threshold. Written in the same transaction as the expense
+ * that crossed it and handed to the notification sink later; {@code dispatchedAt} is set once
+ * delivered.
+ */
+@Entity
+@Table(name = "budget_alerts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "alert_year", nullable = false)
+    private int year;
+
+    @Column(name = "alert_month", nullable = false)
+    private int month;
+
+    // Null for the overall monthly budget
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private Category category;
+
+    @Column(name = "threshold_percent", nullable = false)
+    private int thresholdPercent;
+
+    @Column(name = "total_cents", nullable = false)
+    private long totalCents;
+
+    @Column(name = "budget_cents", nullable = false)
+    private long budgetCents;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+}
@@ -0,0 +1,49 @@
+package com.finanote.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Arrays;
+
+/**
+ * Stores a per-category cents array (indexed by {@link Category#ordinal()}) as
+ * {@code NAME=cents} pairs, leaving out zeros. Keying the column by name keeps stored values
+ * valid when categories are added or reordered; names no longer defined are dropped.
+ */
+@Converter
+public class CategoryAmountsConverter implements AttributeConverter<long[], String> {
+
+    @Override
+    public String convertToDatabaseColumn(long[] amounts) {
+        if (amounts == null) {
+            return null;
+        }
+        StringBuilder column = new StringBuilder();
+        for (Category category : Category.values()) {
+            long cents = category.ordinal() < amounts.length ? amounts[category.ordinal()] : 0;
+            if (cents != 0) {
+                if (!column.isEmpty()) {
+                    column.append(',');
+                }
+                column.append(category.name()).append('=').append(cents);
+            }
+        }
+        return column.isEmpty() ? null : column.toString();
+    }
+
+    @Override
+    public long[] convertToEntityAttribute(String column) {
+        long[] amounts = new long[Category.values().length];
+        if (column == null || column.isBlank()) {
+            return amounts;
+        }
+        for (String pair : column.split(",")) {
+            int separator = pair.indexOf('=');
+            String name = pair.substring(0, separator);
+            if (Arrays.stream(Category.values()).anyMatch(category -> category.name().equals(name))) {
+                amounts[Category.valueOf(name).ordinal()] = Long.parseLong(pair.substring(separator + 1));
+            }
+        }
+        return amounts;
+    }
+}
@@ -0,0 +1,50 @@
+package com.finanote.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Running spend of one user in one category and month, so a category's remaining budget is
+ * one row lookup instead of a sum over the month; carries the alerted thresholds like
+ * {@link MonthTotal}.
+ */
+@Entity
+@Table(name = "category_month_totals",
+        uniqueConstraints = @UniqueConstraint(name = "uk_category_month_totals_month",
+                columnNames = {"user_id", "total_year", "total_month", "category"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryMonthTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "total_year", nullable = false)
+    private int year;
+
+    @Column(name = "total_month", nullable = false)
+    private int month;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false)
+    private Category category;
+
+    @ColumnDefault("0")
+    @Column(name = "total_cents", nullable = false)
+    private long totalCents;
+
+    @ColumnDefault("0")
+    @Column(name = "alerted_thresholds", nullable = false)
+    private int alertedThresholds;
+}
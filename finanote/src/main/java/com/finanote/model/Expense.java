@@ -7,30 +7,46 @@ import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Entity
-@Table(name = "expenses")
+@Table(name = "expenses", indexes = {
+        @Index(name = "idx_expenses_user_date", columnList = "user_id, expense_date"),
+        @Index(name = "idx_expenses_user_category_date", columnList = "user_id, category, expense_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Expense {
 
+    // Pooled sequence ids let Hibernate batch inserts, which IDENTITY columns prevent
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expenses_seq")
+    @SequenceGenerator(name = "expenses_seq", sequenceName = "expenses_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Description is required")
     private String description;
 
-    @NotNull(message = "Amount is required")
+    // Lower-cased copy of the description so prefix filters can range-scan an index
+    @Column(name = "description_lower", nullable = false)
+    private String descriptionLower;
+
+    // Whole cents; decimal amounts only exist at the API edge (see Money)
     @Positive(message = "Amount must be positive")
-    private Double amount;
+    @ColumnDefault("0")
+    @Column(name = "amount_cents", nullable = false)
+    private long amountCents;
 
     @NotNull(message = "Category is required")
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     private Category category;
 
     @NotNull(message = "Date is required")
@@ -51,12 +67,18 @@ public class Expense {
 
     @PrePersist
     protected void onCreate() {
+        descriptionLower = lowerDescription(description);
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
     }
 
     @PreUpdate
     protected void onUpdate() {
+        descriptionLower = lowerDescription(description);
         updatedAt = LocalDateTime.now();
     }
+
+    public static String lowerDescription(String description) {
+        return description == null ? null : description.toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,33 @@
+package com.finanote.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between decimal amounts as they appear on the wire and the whole cents stored
+ * and summed everywhere else. Amounts with more than two decimal places are rejected rather
+ * than silently rounded.
+ */
+public final class Money {
+
+    private static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    public static long toCents(BigDecimal amount) {
+        try {
+            return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount must have at most 2 decimal places and fit in range");
+        }
+    }
+
+    public static long parseCents(String amount) {
+        return toCents(new BigDecimal(amount.trim()));
+    }
+
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+}
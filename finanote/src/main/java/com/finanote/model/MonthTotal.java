@@ -0,0 +1,43 @@
+package com.finanote.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * Running spend of one user in one month, kept up to date by every expense write, with the
+ * budget alert thresholds already reported for that month as a bitmask.
+ */
+@Entity
+@Table(name = "month_totals",
+        uniqueConstraints = @UniqueConstraint(name = "uk_month_totals_month",
+                columnNames = {"user_id", "total_year", "total_month"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "total_year", nullable = false)
+    private int year;
+
+    @Column(name = "total_month", nullable = false)
+    private int month;
+
+    @ColumnDefault("0")
+    @Column(name = "total_cents", nullable = false)
+    private long totalCents;
+
+    // Bit i is set once the i-th configured threshold has been reported
+    @ColumnDefault("0")
+    @Column(name = "alerted_thresholds", nullable = false)
+    private int alertedThresholds;
+}
@@ -0,0 +1,47 @@
+package com.finanote.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+@Entity
+@Table(name = "monthly_summaries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_monthly_summaries_bucket",
+                columnNames = {"user_id", "summary_year", "summary_month", "category", "summary_day"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "summary_year", nullable = false)
+    private int year;
+
+    @Column(name = "summary_month", nullable = false)
+    private int month;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false)
+    private Category category;
+
+    @Column(name = "summary_day", nullable = false)
+    private int day;
+
+    @ColumnDefault("0")
+    @Column(name = "total_cents", nullable = false)
+    private long totalCents;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+}
@@ -0,0 +1,26 @@
+package com.finanote.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A token revoked before its expiry, kept until it would have expired anyway so nodes that
+ * start later still reject it.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @Column(name = "token_id", length = 64)
+    private String tokenId;
+
+    // Epoch milliseconds, taken from the token's exp claim
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+}
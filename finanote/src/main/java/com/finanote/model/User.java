@@ -7,6 +7,7 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -36,8 +37,14 @@ public class User {
     @Size(min = 6, message = "Password must be at least 6 characters")
     private String password;
 
-    @Column(name = "monthly_budget")
-    private Double monthlyBudget = 0.0;
+    @ColumnDefault("0")
+    @Column(name = "monthly_budget_cents", nullable = false)
+    private long monthlyBudgetCents;
+
+    // Monthly budget per category, indexed by Category.ordinal(); 0 means no budget
+    @Convert(converter = CategoryAmountsConverter.class)
+    @Column(name = "category_budget_cents", length = 1000)
+    private long[] categoryBudgetCents = new long[Category.values().length];
 
     @Column(name = "created_at")
     private LocalDateTime createdAt;
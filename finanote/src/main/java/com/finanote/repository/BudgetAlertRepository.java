@@ -0,0 +1,37 @@
+package com.finanote.repository;
+
+import com.finanote.model.BudgetAlert;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, Long> {
+
+    // Rows claimed by another node's dispatcher are skipped rather than waited for (lock
+    // timeout -2 is SKIP LOCKED), so each alert is delivered by one node
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT a FROM BudgetAlert a WHERE a.dispatchedAt IS NULL ORDER BY a.id")
+    List<BudgetAlert> findPendingForDispatch(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE BudgetAlert a SET a.dispatchedAt = :dispatchedAt WHERE a.id IN :ids")
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("dispatchedAt") LocalDateTime dispatchedAt);
+
+    @Modifying
+    @Query("DELETE FROM BudgetAlert a WHERE a.dispatchedAt < :before")
+    int deleteDispatchedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,81 @@
+package com.finanote.repository;
+
+import com.finanote.model.Category;
+import com.finanote.model.CategoryMonthTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryMonthTotalRepository extends JpaRepository<CategoryMonthTotal, Long> {
+
+    List<CategoryMonthTotal> findByUserId(Long userId);
+
+    @Query("SELECT new com.finanote.repository.MonthTotalState(t.totalCents, t.alertedThresholds) " +
+           "FROM CategoryMonthTotal t WHERE t.userId = :userId AND t.year = :year AND t.month = :month " +
+           "AND t.category = :category")
+    Optional<MonthTotalState> findState(@Param("userId") Long userId,
+                                        @Param("year") int year,
+                                        @Param("month") int month,
+                                        @Param("category") Category category);
+
+    @Modifying
+    @Query("UPDATE CategoryMonthTotal t SET t.totalCents = t.totalCents + :amountCents " +
+           "WHERE t.userId = :userId AND t.year = :year AND t.month = :month AND t.category = :category")
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("year") int year,
+                   @Param("month") int month,
+                   @Param("category") Category category,
+                   @Param("amountCents") long amountCents);
+
+    @Modifying
+    @Query(value = "INSERT INTO category_month_totals (user_id, total_year, total_month, category, total_cents, " +
+                   "alerted_thresholds) VALUES (:userId, :year, :month, :category, :amountCents, 0) " +
+                   "ON CONFLICT (user_id, total_year, total_month, category) DO UPDATE SET " +
+                   "total_cents = category_month_totals.total_cents + EXCLUDED.total_cents",
+           nativeQuery = true)
+    int upsertDeltaPostgres(@Param("userId") Long userId,
+                            @Param("year") int year,
+                            @Param("month") int month,
+                            @Param("category") String category,
+                            @Param("amountCents") long amountCents);
+
+    @Modifying
+    @Query(value = "MERGE INTO category_month_totals t USING (VALUES (CAST(:userId AS BIGINT), " +
+                   "CAST(:year AS INTEGER), CAST(:month AS INTEGER), CAST(:category AS VARCHAR(255)), " +
+                   "CAST(:amountCents AS BIGINT))) AS d(user_id, total_year, total_month, category, total_cents) " +
+                   "ON t.user_id = d.user_id AND t.total_year = d.total_year AND t.total_month = d.total_month " +
+                   "AND t.category = d.category " +
+                   "WHEN MATCHED THEN UPDATE SET total_cents = t.total_cents + d.total_cents " +
+                   "WHEN NOT MATCHED THEN INSERT (user_id, total_year, total_month, category, total_cents, " +
+                   "alerted_thresholds) VALUES (d.user_id, d.total_year, d.total_month, d.category, d.total_cents, 0)",
+           nativeQuery = true)
+    int mergeDeltaH2(@Param("userId") Long userId,
+                     @Param("year") int year,
+                     @Param("month") int month,
+                     @Param("category") String category,
+                     @Param("amountCents") long amountCents);
+
+    @Modifying
+    @Query("UPDATE CategoryMonthTotal t SET t.alertedThresholds = :alertedThresholds " +
+           "WHERE t.userId = :userId AND t.year = :year AND t.month = :month AND t.category = :category")
+    int updateAlertedThresholds(@Param("userId") Long userId,
+                                @Param("year") int year,
+                                @Param("month") int month,
+                                @Param("category") Category category,
+                                @Param("alertedThresholds") int alertedThresholds);
+
+    @Modifying
+    @Query("UPDATE CategoryMonthTotal t SET t.alertedThresholds = 0 " +
+           "WHERE t.userId = :userId AND t.year = :year AND t.month = :month AND t.category IN :categories")
+    int resetAlertedThresholds(@Param("userId") Long userId,
+                               @Param("year") int year,
+                               @Param("month") int month,
+                               @Param("categories") Collection<Category> categories);
+}
@@ -0,0 +1,11 @@
+package com.finanote.repository;
+
+import com.finanote.model.Category;
+
+import java.time.LocalDate;
+
+/**
+ * Sum and count of one user's expenses for a (day, category) bucket.
+ */
+public record DailyAggregate(LocalDate expenseDate, Category category, long totalCents, long transactionCount) {
+}
@@ -0,0 +1,16 @@
+package com.finanote.repository;
+
+import com.finanote.model.Expense;
+
+import java.time.LocalDate;
+
+/**
+ * The searchable text of one expense, with the date used to rank equally relevant matches.
+ */
+public record ExpenseDocument(Long id, String description, String notes, LocalDate expenseDate) {
+
+    public static ExpenseDocument from(Expense expense) {
+        return new ExpenseDocument(expense.getId(), expense.getDescription(), expense.getNotes(),
+                expense.getExpenseDate());
+    }
+}
@@ -0,0 +1,17 @@
+package com.finanote.repository;
+
+import com.finanote.dto.ExpenseResponse;
+import com.finanote.dto.ExpenseSort;
+import com.finanote.model.Expense;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Dynamic listing that Spring Data cannot derive: a {@link Specification} selected straight into
+ * {@link ExpenseResponse} rows in a given order.
+ */
+public interface ExpenseFilterRepository {
+
+    List<ExpenseResponse> findFiltered(Specification<Expense> specification, ExpenseSort sort, int limit);
+}
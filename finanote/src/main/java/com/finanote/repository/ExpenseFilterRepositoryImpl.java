@@ -0,0 +1,50 @@
+package com.finanote.repository;
+
+import com.finanote.dto.ExpenseResponse;
+import com.finanote.dto.ExpenseSort;
+import com.finanote.model.Expense;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+class ExpenseFilterRepositoryImpl implements ExpenseFilterRepository {
+
+    private final EntityManager entityManager;
+
+    ExpenseFilterRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<ExpenseResponse> findFiltered(Specification<Expense> specification, ExpenseSort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ExpenseResponse> query = cb.createQuery(ExpenseResponse.class);
+        Root<Expense> expense = query.from(Expense.class);
+
+        // Same projection as ExpenseRepository.RESPONSE_SELECT
+        query.select(cb.construct(ExpenseResponse.class,
+                expense.get("id"), expense.get("description"), expense.get("amountCents"),
+                expense.get("category"), expense.get("expenseDate"), expense.get("notes")));
+
+        Predicate where = specification.toPredicate(expense, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+
+        Path<Object> key = expense.get(sort.getProperty());
+        Path<Object> id = expense.get("id");
+        query.orderBy(sort.isAscending()
+                ? List.of(cb.asc(key), cb.asc(id))
+                : List.of(cb.desc(key), cb.desc(id)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
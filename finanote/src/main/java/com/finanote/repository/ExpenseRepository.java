@@ -1,48 +1,96 @@
 package com.finanote.repository;
 
-import com.finanote.model.Category;
+import com.finanote.dto.ExpenseResponse;
 import com.finanote.model.Expense;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, ExpenseFilterRepository {
 
-    List<Expense> findByUserIdOrderByExpenseDateDesc(Long userId);
+    // Read endpoints select only the response columns into ExpenseResponse, skipping entity
+    // hydration and the persistence context snapshot kept for dirty checking.
+    String RESPONSE_SELECT = "SELECT new com.finanote.dto.ExpenseResponse(" +
+            "e.id, e.description, e.amountCents, e.category, e.expenseDate, e.notes) FROM Expense e ";
 
-    List<Expense> findByUserIdAndCategory(Long userId, Category category);
+    // Owner-scoped operations: the user id is part of the WHERE clause, so an expense owned by
+    // someone else looks exactly like a missing one and needs no separate check.
+    // Locked until commit: updates and deletes derive rollup deltas from the old values, so a
+    // concurrent write to the same expense must wait rather than subtract them a second time.
+    // The locked entity is then changed or removed in place, one statement at flush.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Expense> findForUpdateByIdAndUserId(Long id, Long userId);
 
-    List<Expense> findByUserIdAndExpenseDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+    @Query(RESPONSE_SELECT + "WHERE e.id = :id AND e.user.id = :userId")
+    Optional<ExpenseResponse> findResponseByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 
-    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId AND " +
-           "YEAR(e.expenseDate) = :year AND MONTH(e.expenseDate) = :month " +
+    @Query(RESPONSE_SELECT + "WHERE e.user.id = :userId " +
+           "ORDER BY e.expenseDate DESC, e.id DESC")
+    List<ExpenseResponse> findFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(RESPONSE_SELECT + "WHERE e.user.id = :userId AND " +
+           "(e.expenseDate < :expenseDate OR (e.expenseDate = :expenseDate AND e.id < :id)) " +
+           "ORDER BY e.expenseDate DESC, e.id DESC")
+    List<ExpenseResponse> findPageAfter(@Param("userId") Long userId,
+                                @Param("expenseDate") LocalDate expenseDate,
+                                @Param("id") Long id,
+                                Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_SELECT + "WHERE e.user.id = :userId " +
+           "ORDER BY e.expenseDate DESC, e.id DESC")
+    Stream<ExpenseResponse> streamByUserId(@Param("userId") Long userId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_SELECT + "WHERE e.user.id = :userId AND " +
+           "e.expenseDate >= :start AND e.expenseDate < :end " +
+           "ORDER BY e.expenseDate, e.id")
+    Stream<ExpenseResponse> streamByUserIdAndDateRange(@Param("userId") Long userId,
+                                                       @Param("start") LocalDate start,
+                                                       @Param("end") LocalDate end);
+
+    @Query(RESPONSE_SELECT + "WHERE e.user.id = :userId AND e.id IN :ids")
+    List<ExpenseResponse> findResponsesByUserIdAndIdIn(@Param("userId") Long userId,
+                                                       @Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.finanote.repository.ExpenseDocument(e.id, e.description, e.notes, e.expenseDate) " +
+           "FROM Expense e WHERE e.user.id = :userId")
+    Stream<ExpenseDocument> streamDocumentsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT e.user.id FROM Expense e")
+    List<Long> findDistinctUserIds(Pageable pageable);
+
+    @Query(RESPONSE_SELECT + "WHERE e.user.id = :userId AND " +
+           "e.expenseDate >= :start AND e.expenseDate < :end " +
            "ORDER BY e.expenseDate DESC")
-    List<Expense> findByUserIdAndMonth(@Param("userId") Long userId,
-                                        @Param("year") int year,
-                                        @Param("month") int month);
-
-    @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.user.id = :userId AND " +
-           "YEAR(e.expenseDate) = :year AND MONTH(e.expenseDate) = :month")
-    Double getTotalExpensesByMonth(@Param("userId") Long userId,
-                                   @Param("year") int year,
-                                   @Param("month") int month);
-
-    @Query("SELECT e.category, SUM(e.amount) FROM Expense e WHERE e.user.id = :userId AND " +
-           "YEAR(e.expenseDate) = :year AND MONTH(e.expenseDate) = :month " +
-           "GROUP BY e.category")
-    List<Object[]> getExpensesByCategory(@Param("userId") Long userId,
-                                          @Param("year") int year,
-                                          @Param("month") int month);
-
-    @Query("SELECT DAY(e.expenseDate), SUM(e.amount) FROM Expense e WHERE e.user.id = :userId AND " +
-           "YEAR(e.expenseDate) = :year AND MONTH(e.expenseDate) = :month " +
-           "GROUP BY DAY(e.expenseDate) ORDER BY DAY(e.expenseDate)")
-    List<Object[]> getDailyExpenses(@Param("userId") Long userId,
-                                     @Param("year") int year,
-                                     @Param("month") int month);
+    List<ExpenseResponse> findByUserIdAndDateRange(@Param("userId") Long userId,
+                                                   @Param("start") LocalDate start,
+                                                   @Param("end") LocalDate end);
+
+    @Query("SELECT new com.finanote.repository.DailyAggregate(e.expenseDate, e.category, " +
+           "SUM(e.amountCents), COUNT(e)) FROM Expense e " +
+           "WHERE e.user.id = :userId GROUP BY e.expenseDate, e.category")
+    List<DailyAggregate> getDailyAggregates(@Param("userId") Long userId);
+
+    // Month lookups are expressed as half-open [first day, first day of next month)
+    // ranges so the (user_id, expense_date) index can be used.
+    default List<ExpenseResponse> findByUserIdAndMonth(Long userId, int year, int month) {
+        LocalDate start = LocalDate.of(year, month, 1);
+        return findByUserIdAndDateRange(userId, start, start.plusMonths(1));
+    }
 }
@@ -0,0 +1,89 @@
+package com.finanote.repository;
+
+import com.finanote.dto.ExpenseFilter;
+import com.finanote.dto.ExpenseSort;
+import com.finanote.dto.FilterCursor;
+import com.finanote.model.Category;
+import com.finanote.model.Expense;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Building blocks of the filtered listing. Every query starts with the owner, so the
+ * (user_id, ...) indexes narrow the scan before the remaining predicates apply.
+ */
+public final class ExpenseSpecifications {
+
+    private ExpenseSpecifications() {
+    }
+
+    public static Specification<Expense> matching(Long userId, ExpenseFilter filter) {
+        List<Specification<Expense>> parts = new ArrayList<>();
+        parts.add(ownedBy(userId));
+        if (filter.getCategories() != null && !filter.getCategories().isEmpty()) {
+            parts.add(categoryIn(filter.getCategories()));
+        }
+        if (filter.getMinAmountCents() != null) {
+            parts.add((root, query, cb) -> cb.ge(root.get("amountCents"), filter.getMinAmountCents()));
+        }
+        if (filter.getMaxAmountCents() != null) {
+            parts.add((root, query, cb) -> cb.le(root.get("amountCents"), filter.getMaxAmountCents()));
+        }
+        if (filter.getFrom() != null) {
+            parts.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("expenseDate"), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            parts.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get("expenseDate"), filter.getTo()));
+        }
+        if (filter.getDescriptionPrefix() != null && !filter.getDescriptionPrefix().isBlank()) {
+            parts.add(descriptionStartsWith(filter.getDescriptionPrefix().trim()));
+        }
+        return Specification.allOf(parts);
+    }
+
+    public static Specification<Expense> ownedBy(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Expense> categoryIn(Set<Category> categories) {
+        return (root, query, cb) -> root.get("category").in(categories);
+    }
+
+    /**
+     * Case-insensitive prefix match on the stored lower-cased description, so the
+     * (user_id, description_lower) index applies; LIKE wildcards typed by the user are matched
+     * literally.
+     */
+    public static Specification<Expense> descriptionStartsWith(String prefix) {
+        String pattern = Expense.lowerDescription(prefix)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(root.get("descriptionLower"), pattern, '\\');
+    }
+
+    /**
+     * Rows strictly after {@code cursor} in the order of {@code sort}.
+     */
+    public static Specification<Expense> after(ExpenseSort sort, FilterCursor cursor) {
+        return (root, query, cb) -> sort.byDate()
+                ? after(cb, root.get("expenseDate"), LocalDate.ofEpochDay(cursor.key()), root.get("id"), cursor.id(), sort)
+                : after(cb, root.get("amountCents"), cursor.key(), root.get("id"), cursor.id(), sort);
+    }
+
+    private static <T extends Comparable<? super T>> Predicate after(CriteriaBuilder cb, Expression<T> key, T value,
+                                                                     Expression<Long> id, long lastId,
+                                                                     ExpenseSort sort) {
+        if (sort.isAscending()) {
+            return cb.or(cb.greaterThan(key, value), cb.and(cb.equal(key, value), cb.greaterThan(id, lastId)));
+        }
+        return cb.or(cb.lessThan(key, value), cb.and(cb.equal(key, value), cb.lessThan(id, lastId)));
+    }
+}
@@ -0,0 +1,66 @@
+package com.finanote.repository;
+
+import com.finanote.model.MonthTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MonthTotalRepository extends JpaRepository<MonthTotal, Long> {
+
+    List<MonthTotal> findByUserId(Long userId);
+
+    // Read as a projection rather than an entity: the deltas are written with bulk statements,
+    // so a managed copy could be stale
+    @Query("SELECT new com.finanote.repository.MonthTotalState(t.totalCents, t.alertedThresholds) " +
+           "FROM MonthTotal t WHERE t.userId = :userId AND t.year = :year AND t.month = :month")
+    Optional<MonthTotalState> findState(@Param("userId") Long userId,
+                                        @Param("year") int year,
+                                        @Param("month") int month);
+
+    @Modifying
+    @Query("UPDATE MonthTotal t SET t.totalCents = t.totalCents + :amountCents " +
+           "WHERE t.userId = :userId AND t.year = :year AND t.month = :month")
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("year") int year,
+                   @Param("month") int month,
+                   @Param("amountCents") long amountCents);
+
+    @Modifying
+    @Query(value = "INSERT INTO month_totals (user_id, total_year, total_month, total_cents, alerted_thresholds) " +
+                   "VALUES (:userId, :year, :month, :amountCents, 0) " +
+                   "ON CONFLICT (user_id, total_year, total_month) DO UPDATE SET " +
+                   "total_cents = month_totals.total_cents + EXCLUDED.total_cents",
+           nativeQuery = true)
+    int upsertDeltaPostgres(@Param("userId") Long userId,
+                            @Param("year") int year,
+                            @Param("month") int month,
+                            @Param("amountCents") long amountCents);
+
+    @Modifying
+    @Query(value = "MERGE INTO month_totals t USING (VALUES (CAST(:userId AS BIGINT), " +
+                   "CAST(:year AS INTEGER), CAST(:month AS INTEGER), CAST(:amountCents AS BIGINT))) " +
+                   "AS d(user_id, total_year, total_month, total_cents) " +
+                   "ON t.user_id = d.user_id AND t.total_year = d.total_year AND t.total_month = d.total_month " +
+                   "WHEN MATCHED THEN UPDATE SET total_cents = t.total_cents + d.total_cents " +
+                   "WHEN NOT MATCHED THEN INSERT (user_id, total_year, total_month, total_cents, alerted_thresholds) " +
+                   "VALUES (d.user_id, d.total_year, d.total_month, d.total_cents, 0)",
+           nativeQuery = true)
+    int mergeDeltaH2(@Param("userId") Long userId,
+                     @Param("year") int year,
+                     @Param("month") int month,
+                     @Param("amountCents") long amountCents);
+
+    @Modifying
+    @Query("UPDATE MonthTotal t SET t.alertedThresholds = :alertedThresholds " +
+           "WHERE t.userId = :userId AND t.year = :year AND t.month = :month")
+    int updateAlertedThresholds(@Param("userId") Long userId,
+                                @Param("year") int year,
+                                @Param("month") int month,
+                                @Param("alertedThresholds") int alertedThresholds);
+}
@@ -0,0 +1,8 @@
+package com.finanote.repository;
+
+/**
+ * Current running total of a month, or of one category in it, and the thresholds already
+ * alerted for it.
+ */
+public record MonthTotalState(long totalCents, int alertedThresholds) {
+}
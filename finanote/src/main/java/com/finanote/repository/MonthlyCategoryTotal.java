@@ -0,0 +1,9 @@
+package com.finanote.repository;
+
+import com.finanote.model.Category;
+
+/**
+ * Sum and count of one user's expenses in a category for a whole month.
+ */
+public record MonthlyCategoryTotal(int year, int month, Category category, long totalCents, long transactionCount) {
+}
@@ -0,0 +1,114 @@
+package com.finanote.repository;
+
+import com.finanote.model.Category;
+import com.finanote.model.MonthlySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface MonthlySummaryRepository extends JpaRepository<MonthlySummary, Long> {
+
+    List<MonthlySummary> findByUserIdAndYearAndMonth(Long userId, int year, int month);
+
+    List<MonthlySummary> findByUserId(Long userId);
+
+    // Bounds are written per (year, month) column so the bucket index can range-scan
+    @Query("SELECT new com.finanote.repository.MonthlyCategoryTotal(s.year, s.month, s.category, " +
+           "SUM(s.totalCents), SUM(s.transactionCount)) FROM MonthlySummary s " +
+           "WHERE s.userId = :userId " +
+           "AND (s.year > :fromYear OR (s.year = :fromYear AND s.month >= :fromMonth)) " +
+           "AND (s.year < :toYear OR (s.year = :toYear AND s.month <= :toMonth)) " +
+           "GROUP BY s.year, s.month, s.category")
+    Stream<MonthlyCategoryTotal> streamMonthlyTotals(@Param("userId") Long userId,
+                                                     @Param("fromYear") int fromYear,
+                                                     @Param("fromMonth") int fromMonth,
+                                                     @Param("toYear") int toYear,
+                                                     @Param("toMonth") int toMonth);
+
+    @Modifying
+    @Query("UPDATE MonthlySummary s SET s.totalCents = s.totalCents + :amountCents, " +
+           "s.transactionCount = s.transactionCount + :count " +
+           "WHERE s.userId = :userId AND s.year = :year AND s.month = :month " +
+           "AND s.category = :category AND s.day = :day")
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("year") int year,
+                   @Param("month") int month,
+                   @Param("category") Category category,
+                   @Param("day") int day,
+                   @Param("amountCents") long amountCents,
+                   @Param("count") long count);
+
+    // Single-statement delta writes for databases with a native upsert: the bucket is created
+    // or incremented without a separate update/insert round trip.
+    @Modifying
+    @Query(value = "INSERT INTO monthly_summaries (user_id, summary_year, summary_month, category, " +
+                   "summary_day, total_cents, transaction_count) " +
+                   "VALUES (:userId, :year, :month, :category, :day, :amountCents, :count) " +
+                   "ON CONFLICT (user_id, summary_year, summary_month, category, summary_day) DO UPDATE SET " +
+                   "total_cents = monthly_summaries.total_cents + EXCLUDED.total_cents, " +
+                   "transaction_count = monthly_summaries.transaction_count + EXCLUDED.transaction_count",
+           nativeQuery = true)
+    int upsertDeltaPostgres(@Param("userId") Long userId,
+                            @Param("year") int year,
+                            @Param("month") int month,
+                            @Param("category") String category,
+                            @Param("day") int day,
+                            @Param("amountCents") long amountCents,
+                            @Param("count") long count);
+
+    @Modifying
+    @Query(value = "MERGE INTO monthly_summaries s USING (VALUES (CAST(:userId AS BIGINT), " +
+                   "CAST(:year AS INTEGER), CAST(:month AS INTEGER), CAST(:category AS VARCHAR(255)), " +
+                   "CAST(:day AS INTEGER), CAST(:amountCents AS BIGINT), CAST(:count AS BIGINT))) " +
+                   "AS d(user_id, summary_year, summary_month, category, summary_day, total_cents, transaction_count) " +
+                   "ON s.user_id = d.user_id AND s.summary_year = d.summary_year " +
+                   "AND s.summary_month = d.summary_month AND s.category = d.category " +
+                   "AND s.summary_day = d.summary_day " +
+                   "WHEN MATCHED THEN UPDATE SET total_cents = s.total_cents + d.total_cents, " +
+                   "transaction_count = s.transaction_count + d.transaction_count " +
+                   "WHEN NOT MATCHED THEN INSERT (user_id, summary_year, summary_month, category, " +
+                   "summary_day, total_cents, transaction_count) VALUES (d.user_id, d.summary_year, " +
+                   "d.summary_month, d.category, d.summary_day, d.total_cents, d.transaction_count)",
+           nativeQuery = true)
+    int mergeDeltaH2(@Param("userId") Long userId,
+                     @Param("year") int year,
+                     @Param("month") int month,
+                     @Param("category") String category,
+                     @Param("day") int day,
+                     @Param("amountCents") long amountCents,
+                     @Param("count") long count);
+
+    /**
+     * Recomputes a user's rollup inside the database with one INSERT ... SELECT, so the
+     * aggregates never travel to the application.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO monthly_summaries (user_id, summary_year, summary_month, category, " +
+                   "summary_day, total_cents, transaction_count) " +
+                   "SELECT user_id, CAST(EXTRACT(YEAR FROM expense_date) AS INTEGER), " +
+                   "CAST(EXTRACT(MONTH FROM expense_date) AS INTEGER), category, " +
+                   "CAST(EXTRACT(DAY FROM expense_date) AS INTEGER), SUM(amount_cents), COUNT(*) " +
+                   "FROM expenses WHERE user_id = :userId GROUP BY user_id, expense_date, category",
+           nativeQuery = true)
+    int insertAggregatedFromExpenses(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM MonthlySummary s WHERE s.userId = :userId AND s.year = :year " +
+           "AND s.month = :month AND s.category = :category AND s.day = :day " +
+           "AND s.transactionCount <= 0")
+    int deleteIfEmpty(@Param("userId") Long userId,
+                      @Param("year") int year,
+                      @Param("month") int month,
+                      @Param("category") Category category,
+                      @Param("day") int day);
+
+    @Modifying
+    @Query("DELETE FROM MonthlySummary s WHERE s.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
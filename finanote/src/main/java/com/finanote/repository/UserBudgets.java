@@ -0,0 +1,7 @@
+package com.finanote.repository;
+
+/**
+ * A user's monthly budget and per-category budgets (cents, indexed by category ordinal).
+ */
+public record UserBudgets(long monthlyBudgetCents, long[] categoryBudgetCents) {
+}
@@ -2,8 +2,11 @@ package com.finanote.repository;
 
 import com.finanote.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +15,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    @Query("SELECT new com.finanote.repository.UserBudgets(u.monthlyBudgetCents, u.categoryBudgetCents) " +
+           "FROM User u WHERE u.id = :id")
+    Optional<UserBudgets> findBudgetsById(@Param("id") Long id);
+
+    @Query("SELECT u.id FROM User u")
+    List<Long> findAllIds();
 }
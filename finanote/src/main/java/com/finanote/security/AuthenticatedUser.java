@@ -0,0 +1,8 @@
+package com.finanote.security;
+
+/**
+ * Principal placed in the security context by {@link JwtAuthenticationFilter}. It is built
+ * from the token claims, so controllers can resolve the caller without a database lookup.
+ */
+public record AuthenticatedUser(Long id, String email, String name) {
+}
@@ -29,4 +29,11 @@ public class CustomUserDetailsService implements UserDetailsService {
                 Collections.emptyList()
         );
     }
+
+    public AuthenticatedUser loadAuthenticatedUser(String email) throws UsernameNotFoundException {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getName());
+    }
 }
@@ -1,5 +1,6 @@
 package com.finanote.security;
 
+import com.finanote.model.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,52 +9,112 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
+import java.util.function.Function;
 
 @Component
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    static final String USER_ID_CLAIM = "uid";
+    static final String NAME_CLAIM = "name";
 
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    private final long jwtExpiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final VerifiedTokenCache verifiedTokens;
+    private final RevokedTokenRegistry revokedTokens;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public JwtTokenProvider(@Value("${jwt.secret}") String jwtSecret,
+                            @Value("${jwt.expiration}") long jwtExpiration,
+                            @Value("${jwt.cache.max-size:10000}") int cacheMaxSize,
+                            RevokedTokenRegistry revokedTokens) {
+        this.jwtExpiration = jwtExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.verifiedTokens = new VerifiedTokenCache(cacheMaxSize);
+        this.revokedTokens = revokedTokens;
     }
 
-    public String generateToken(String email) {
+    public String generateToken(User user) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
         return Jwts.builder()
-                .subject(email)
+                .id(UUID.randomUUID().toString())
+                .subject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(NAME_CLAIM, user.getName())
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verifies the token once and returns its claims, or {@code null} if the signature,
+     * format or expiry is invalid.
+     */
+    public Claims parseClaims(String token) {
+        try {
+            return parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Resolves the principal for a bearer token, answering repeated tokens from the
+     * verified-token cache. Tokens issued before the user id claim existed are resolved
+     * by email through {@code legacyLookup}.
+     *
+     * @return the principal, or {@code null} if the token is invalid or revoked
+     */
+    public AuthenticatedUser authenticate(String token, Function<String, AuthenticatedUser> legacyLookup) {
+        VerifiedTokenCache.Entry cached = verifiedTokens.get(token);
+        if (cached != null) {
+            return revokedTokens.isRevoked(cached.tokenId()) ? null : cached.principal();
+        }
+
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            return null;
+        }
+        String tokenId = tokenId(token, claims);
+        if (revokedTokens.isRevoked(tokenId)) {
+            return null;
+        }
 
-        return claims.getSubject();
+        AuthenticatedUser principal;
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        if (userId != null) {
+            principal = new AuthenticatedUser(userId.longValue(), claims.getSubject(),
+                    claims.get(NAME_CLAIM, String.class));
+        } else {
+            principal = legacyLookup.apply(claims.getSubject());
+        }
+
+        verifiedTokens.put(token, principal, tokenId, expiresAt(claims));
+        return principal;
     }
 
-    public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+    /**
+     * Revokes a valid token on every node until it expires. Invalid tokens are ignored since
+     * they are rejected anyway.
+     */
+    public void revoke(String token) {
+        Claims claims = parseClaims(token);
+        if (claims != null) {
+            revokedTokens.revoke(tokenId(token, claims), expiresAt(claims));
         }
     }
+
+    // Tokens issued before the jti claim existed are identified by their hash
+    private static String tokenId(String token, Claims claims) {
+        return claims.getId() != null ? claims.getId() : VerifiedTokenCache.hash(token);
+    }
+
+    private long expiresAt(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null ? expiration.getTime() : System.currentTimeMillis() + jwtExpiration;
+    }
 }
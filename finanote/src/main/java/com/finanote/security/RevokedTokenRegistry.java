@@ -0,0 +1,66 @@
+package com.finanote.security;
+
+import com.finanote.cluster.ClusterEventBus;
+import com.finanote.cluster.ClusterMessage;
+import com.finanote.model.RevokedToken;
+import com.finanote.repository.RevokedTokenRepository;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Node-local set of revoked token ids, checked on every authenticated request without a
+ * database round trip. Revocations are stored so nodes that start later load them, and are
+ * spread to running nodes through the cluster bus. Entries are dropped once the token would
+ * have expired anyway.
+ */
+@Component
+public class RevokedTokenRegistry implements ApplicationRunner {
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final ClusterEventBus clusterEventBus;
+
+    public RevokedTokenRegistry(RevokedTokenRepository revokedTokenRepository, ClusterEventBus clusterEventBus) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.clusterEventBus = clusterEventBus;
+        clusterEventBus.subscribe(message -> {
+            if (message instanceof ClusterMessage.TokenRevoked revocation) {
+                revoked.put(revocation.tokenId(), revocation.expiresAt());
+            }
+        });
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtGreaterThan(System.currentTimeMillis())) {
+            revoked.put(token.getTokenId(), token.getExpiresAt());
+        }
+    }
+
+    public void revoke(String tokenId, long expiresAt) {
+        revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt));
+        clusterEventBus.publish(new ClusterMessage.TokenRevoked(tokenId, expiresAt));
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return revoked.containsKey(tokenId);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${finanote.revocation.purge-interval:PT1H}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        revokedTokenRepository.deleteExpired(now);
+    }
+}
@@ -0,0 +1,61 @@
+package com.finanote.service;
+
+import com.finanote.model.BudgetAlert;
+import com.finanote.repository.BudgetAlertRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Drains the budget alert outbox on a fixed delay, one batch per run, and hands each batch to
+ * the {@link BudgetAlertSink}. Delivery is at least once: a batch is only marked dispatched
+ * when the sink returns.
+ */
+@Component
+public class BudgetAlertDispatcher {
+
+    private final BudgetAlertRepository budgetAlertRepository;
+    private final BudgetAlertSink sink;
+    private final int batchSize;
+    private final Duration retention;
+    private final Counter delivered;
+
+    public BudgetAlertDispatcher(BudgetAlertRepository budgetAlertRepository, BudgetAlertSink sink,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${finanote.alerts.batch-size:100}") int batchSize,
+                                 @Value("${finanote.alerts.retention:P7D}") Duration retention) {
+        this.budgetAlertRepository = budgetAlertRepository;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.delivered = Counter.builder("finanote.budget.alerts.delivered")
+                .description("Budget alerts handed to the notification sink")
+                .register(meterRegistry);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${finanote.alerts.dispatch-interval:PT5S}")
+    public void dispatch() {
+        List<BudgetAlert> batch = budgetAlertRepository.findPendingForDispatch(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return;
+        }
+        sink.deliver(batch);
+        budgetAlertRepository.markDispatched(batch.stream().map(BudgetAlert::getId).toList(), LocalDateTime.now());
+        delivered.increment(batch.size());
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${finanote.alerts.purge-interval:PT1H}")
+    public void purgeDispatched() {
+        budgetAlertRepository.deleteDispatchedBefore(LocalDateTime.now().minus(retention));
+    }
+}
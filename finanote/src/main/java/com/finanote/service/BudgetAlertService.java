@@ -0,0 +1,302 @@
+package com.finanote.service;
+
+import com.finanote.model.BudgetAlert;
+import com.finanote.model.Category;
+import com.finanote.model.CategoryMonthTotal;
+import com.finanote.model.Expense;
+import com.finanote.model.MonthTotal;
+import com.finanote.repository.BudgetAlertRepository;
+import com.finanote.repository.CategoryMonthTotalRepository;
+import com.finanote.repository.DailyAggregate;
+import com.finanote.repository.ExpenseRepository;
+import com.finanote.repository.MonthTotalRepository;
+import com.finanote.repository.MonthTotalState;
+import com.finanote.repository.UserBudgets;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps running month-to-date totals per user and per (user, category) and checks the monthly
+ * and category budget thresholds on every expense write, inside the writing transaction. Each
+ * threshold is reported at most once per month and budget: crossings are recorded as bits on
+ * the running total and queued in the {@link BudgetAlert} outbox, which
+ * {@link BudgetAlertDispatcher} delivers asynchronously.
+ */
+@Service
+public class BudgetAlertService {
+
+    private static final Category[] CATEGORIES = Category.values();
+
+    private final MonthTotalRepository monthTotalRepository;
+    private final CategoryMonthTotalRepository categoryMonthTotalRepository;
+    private final BudgetAlertRepository budgetAlertRepository;
+    private final ExpenseRepository expenseRepository;
+    private final UserService userService;
+    private final DeltaWrite deltaWrite;
+    private final int[] thresholds;
+
+    public BudgetAlertService(MonthTotalRepository monthTotalRepository,
+                              CategoryMonthTotalRepository categoryMonthTotalRepository,
+                              BudgetAlertRepository budgetAlertRepository, ExpenseRepository expenseRepository,
+                              UserService userService,
+                              @Value("${spring.datasource.url}") String datasourceUrl,
+                              @Value("${finanote.alerts.thresholds:50,80,100}") int[] thresholds) {
+        this.monthTotalRepository = monthTotalRepository;
+        this.categoryMonthTotalRepository = categoryMonthTotalRepository;
+        this.budgetAlertRepository = budgetAlertRepository;
+        this.expenseRepository = expenseRepository;
+        this.userService = userService;
+        this.deltaWrite = DeltaWrite.forJdbcUrl(datasourceUrl);
+        this.thresholds = Arrays.stream(thresholds).distinct().sorted().toArray();
+        if (this.thresholds.length > Integer.SIZE - 1) {
+            throw new IllegalArgumentException("At most 31 budget alert thresholds are supported");
+        }
+    }
+
+    @Transactional
+    public void recordCreated(Long userId, Expense expense) {
+        record(userId, new Deltas().add(expense.getExpenseDate(), expense.getCategory(), expense.getAmountCents()));
+    }
+
+    @Transactional
+    public void recordCreatedAll(Long userId, Collection<Expense> expenses) {
+        Deltas deltas = new Deltas();
+        for (Expense expense : expenses) {
+            deltas.add(expense.getExpenseDate(), expense.getCategory(), expense.getAmountCents());
+        }
+        record(userId, deltas);
+    }
+
+    @Transactional
+    public void recordUpdated(Long userId, LocalDate oldDate, Category oldCategory, long oldAmountCents,
+                              Expense updated) {
+        record(userId, new Deltas()
+                .add(oldDate, oldCategory, -oldAmountCents)
+                .add(updated.getExpenseDate(), updated.getCategory(), updated.getAmountCents()));
+    }
+
+    @Transactional
+    public void recordDeleted(Long userId, Expense expense) {
+        record(userId, new Deltas().add(expense.getExpenseDate(), expense.getCategory(), -expense.getAmountCents()));
+    }
+
+    /**
+     * A new budget starts the current month's thresholds afresh for that budget only; they are
+     * checked again on the next write.
+     */
+    @EventListener
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        YearMonth now = YearMonth.now();
+        if (event.monthly()) {
+            monthTotalRepository.updateAlertedThresholds(event.userId(), now.getYear(), now.getMonthValue(), 0);
+        }
+        if (!event.categories().isEmpty()) {
+            categoryMonthTotalRepository.resetAlertedThresholds(event.userId(), now.getYear(), now.getMonthValue(),
+                    event.categories());
+        }
+    }
+
+    /**
+     * Corrects the user's month and category totals against the expenses table. Rows are fixed
+     * in place, so thresholds already reported stay reported; a missing row is created with the
+     * thresholds it already reaches marked, as the V7 backfill did, so it raises no back-dated
+     * alerts.
+     *
+     * @return the number of totals that were missing or carried a different sum
+     */
+    @Transactional
+    public int reconcileTotals(Long userId) {
+        Deltas expected = new Deltas();
+        for (DailyAggregate aggregate : expenseRepository.getDailyAggregates(userId)) {
+            expected.add(aggregate.expenseDate(), aggregate.category(), aggregate.totalCents());
+        }
+        Map<YearMonth, long[]> monthsLeft = new TreeMap<>(expected.byMonth);
+        Map<YearMonth, long[]> categoriesLeft = new TreeMap<>();
+        expected.byMonth.forEach((month, byCategory) -> categoriesLeft.put(month, byCategory.clone()));
+        int corrected = 0;
+
+        for (MonthTotal total : monthTotalRepository.findByUserId(userId)) {
+            long[] byCategory = monthsLeft.remove(YearMonth.of(total.getYear(), total.getMonth()));
+            long cents = byCategory == null ? 0 : Arrays.stream(byCategory).sum();
+            if (total.getTotalCents() != cents) {
+                total.setTotalCents(cents);
+                corrected++;
+            }
+        }
+        for (CategoryMonthTotal total : categoryMonthTotalRepository.findByUserId(userId)) {
+            long[] byCategory = categoriesLeft.get(YearMonth.of(total.getYear(), total.getMonth()));
+            int c = total.getCategory().ordinal();
+            long cents = byCategory == null ? 0 : byCategory[c];
+            if (byCategory != null) {
+                byCategory[c] = 0;
+            }
+            if (total.getTotalCents() != cents) {
+                total.setTotalCents(cents);
+                corrected++;
+            }
+        }
+
+        UserBudgets budgets = userService.getBudgets(userId);
+        for (Map.Entry<YearMonth, long[]> entry : monthsLeft.entrySet()) {
+            YearMonth month = entry.getKey();
+            long cents = Arrays.stream(entry.getValue()).sum();
+            monthTotalRepository.save(new MonthTotal(null, userId, month.getYear(), month.getMonthValue(), cents,
+                    reachedThresholds(cents, budgets.monthlyBudgetCents())));
+            corrected++;
+        }
+        for (Map.Entry<YearMonth, long[]> entry : categoriesLeft.entrySet()) {
+            YearMonth month = entry.getKey();
+            long[] byCategory = entry.getValue();
+            for (int c = 0; c < byCategory.length; c++) {
+                if (byCategory[c] != 0) {
+                    categoryMonthTotalRepository.save(new CategoryMonthTotal(null, userId, month.getYear(),
+                            month.getMonthValue(), CATEGORIES[c], byCategory[c],
+                            reachedThresholds(byCategory[c], budgets.categoryBudgetCents()[c])));
+                    corrected++;
+                }
+            }
+        }
+        return corrected;
+    }
+
+    private void record(Long userId, Deltas deltas) {
+        // Rows are written in (month, category ordinal) order, so concurrent writers lock them
+        // in the same order
+        boolean increased = false;
+        for (Map.Entry<YearMonth, long[]> entry : deltas.byMonth.entrySet()) {
+            YearMonth month = entry.getKey();
+            long[] byCategory = entry.getValue();
+            long monthDelta = Arrays.stream(byCategory).sum();
+            if (monthDelta != 0) {
+                applyMonthDelta(userId, month.getYear(), month.getMonthValue(), monthDelta);
+            }
+            for (int c = 0; c < byCategory.length; c++) {
+                if (byCategory[c] != 0) {
+                    applyCategoryDelta(userId, month.getYear(), month.getMonthValue(), CATEGORIES[c], byCategory[c]);
+                    increased |= byCategory[c] > 0;
+                }
+            }
+        }
+
+        // Spend only crosses thresholds upwards
+        if (!increased) {
+            return;
+        }
+        UserBudgets budgets = userService.getBudgets(userId);
+        for (Map.Entry<YearMonth, long[]> entry : deltas.byMonth.entrySet()) {
+            YearMonth month = entry.getKey();
+            long[] byCategory = entry.getValue();
+            if (Arrays.stream(byCategory).sum() > 0 && budgets.monthlyBudgetCents() > 0) {
+                checkMonth(userId, month, budgets.monthlyBudgetCents());
+            }
+            for (int c = 0; c < byCategory.length; c++) {
+                long categoryBudget = budgets.categoryBudgetCents()[c];
+                if (byCategory[c] > 0 && categoryBudget > 0) {
+                    checkCategory(userId, month, CATEGORIES[c], categoryBudget);
+                }
+            }
+        }
+    }
+
+    // The delta write holds the row lock until commit, so concurrent writes for the same month
+    // see each other's totals and bits and cannot report a threshold twice
+    private void checkMonth(Long userId, YearMonth month, long budgetCents) {
+        MonthTotalState state = monthTotalRepository.findState(userId, month.getYear(), month.getMonthValue())
+                .orElseThrow(() -> new IllegalStateException("Missing month total for user " + userId));
+        int fresh = freshThresholds(state, budgetCents);
+        if (fresh != 0) {
+            monthTotalRepository.updateAlertedThresholds(userId, month.getYear(), month.getMonthValue(),
+                    state.alertedThresholds() | fresh);
+            queueAlert(userId, month, null, fresh, state.totalCents(), budgetCents);
+        }
+    }
+
+    private void checkCategory(Long userId, YearMonth month, Category category, long budgetCents) {
+        MonthTotalState state = categoryMonthTotalRepository.findState(userId, month.getYear(),
+                        month.getMonthValue(), category)
+                .orElseThrow(() -> new IllegalStateException("Missing category total for user " + userId));
+        int fresh = freshThresholds(state, budgetCents);
+        if (fresh != 0) {
+            categoryMonthTotalRepository.updateAlertedThresholds(userId, month.getYear(), month.getMonthValue(),
+                    category, state.alertedThresholds() | fresh);
+            queueAlert(userId, month, category, fresh, state.totalCents(), budgetCents);
+        }
+    }
+
+    private int freshThresholds(MonthTotalState state, long budgetCents) {
+        return reachedThresholds(state.totalCents(), budgetCents) & ~state.alertedThresholds();
+    }
+
+    private int reachedThresholds(long totalCents, long budgetCents) {
+        if (budgetCents <= 0) {
+            return 0;
+        }
+        int reached = 0;
+        for (int i = 0; i < thresholds.length; i++) {
+            if (totalCents * 100 >= budgetCents * thresholds[i]) {
+                reached |= 1 << i;
+            }
+        }
+        return reached;
+    }
+
+    private void queueAlert(Long userId, YearMonth month, Category category, int fresh, long totalCents,
+                            long budgetCents) {
+        // A single write that skips several thresholds is reported once, at the highest one
+        int highest = Integer.SIZE - 1 - Integer.numberOfLeadingZeros(fresh);
+        budgetAlertRepository.save(new BudgetAlert(null, userId, month.getYear(), month.getMonthValue(), category,
+                thresholds[highest], totalCents, budgetCents, LocalDateTime.now(), null));
+    }
+
+    private void applyMonthDelta(Long userId, int year, int month, long amountCents) {
+        switch (deltaWrite) {
+            case POSTGRESQL_UPSERT -> monthTotalRepository.upsertDeltaPostgres(userId, year, month, amountCents);
+            case H2_MERGE -> monthTotalRepository.mergeDeltaH2(userId, year, month, amountCents);
+            case UPDATE_THEN_INSERT -> {
+                if (monthTotalRepository.applyDelta(userId, year, month, amountCents) == 0) {
+                    monthTotalRepository.saveAndFlush(new MonthTotal(null, userId, year, month, amountCents, 0));
+                }
+            }
+        }
+    }
+
+    private void applyCategoryDelta(Long userId, int year, int month, Category category, long amountCents) {
+        switch (deltaWrite) {
+            case POSTGRESQL_UPSERT ->
+                    categoryMonthTotalRepository.upsertDeltaPostgres(userId, year, month, category.name(), amountCents);
+            case H2_MERGE ->
+                    categoryMonthTotalRepository.mergeDeltaH2(userId, year, month, category.name(), amountCents);
+            case UPDATE_THEN_INSERT -> {
+                if (categoryMonthTotalRepository.applyDelta(userId, year, month, category, amountCents) == 0) {
+                    categoryMonthTotalRepository.saveAndFlush(
+                            new CategoryMonthTotal(null, userId, year, month, category, amountCents, 0));
+                }
+            }
+        }
+    }
+
+    /**
+     * Net change per month and category ordinal; an update within one bucket folds into a
+     * single delta.
+     */
+    private static final class Deltas {
+
+        private final Map<YearMonth, long[]> byMonth = new TreeMap<>();
+
+        Deltas add(LocalDate date, Category category, long amountCents) {
+            byMonth.computeIfAbsent(YearMonth.from(date), month -> new long[CATEGORIES.length])[category.ordinal()]
+                    += amountCents;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.finanote.service;
+
+import com.finanote.model.BudgetAlert;
+
+import java.util.List;
+
+/**
+ * Destination of budget alerts (e-mail, push, a message queue). Receives alerts in batches,
+ * oldest first; throwing leaves the whole batch in the outbox to be retried.
+ */
+public interface BudgetAlertSink {
+
+    void deliver(List<BudgetAlert> alerts);
+}
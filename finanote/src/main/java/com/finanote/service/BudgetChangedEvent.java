@@ -0,0 +1,20 @@
+package com.finanote.service;
+
+import com.finanote.model.Category;
+
+import java.util.Set;
+
+/**
+ * Published inside the writing transaction when a user's budgets change: the monthly budget
+ * when {@code monthly} is set, plus the category budgets in {@code categories}.
+ */
+public record BudgetChangedEvent(Long userId, boolean monthly, Set<Category> categories) {
+
+    public static BudgetChangedEvent monthly(Long userId) {
+        return new BudgetChangedEvent(userId, true, Set.of());
+    }
+
+    public static BudgetChangedEvent categories(Long userId, Set<Category> categories) {
+        return new BudgetChangedEvent(userId, false, categories);
+    }
+}
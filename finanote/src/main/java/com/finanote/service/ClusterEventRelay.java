@@ -0,0 +1,30 @@
+package com.finanote.service;
+
+import com.finanote.cluster.ClusterEventBus;
+import com.finanote.cluster.ClusterMessage;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Forwards committed expense and budget writes to the cluster bus, which invalidates the
+ * cached state of this node and every other node.
+ */
+@Component
+public class ClusterEventRelay {
+
+    private final ClusterEventBus clusterEventBus;
+
+    public ClusterEventRelay(ClusterEventBus clusterEventBus) {
+        this.clusterEventBus = clusterEventBus;
+    }
+
+    @TransactionalEventListener
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        clusterEventBus.publish(new ClusterMessage.ExpensesChanged(event.userId(), event.months()));
+    }
+
+    @TransactionalEventListener
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        clusterEventBus.publish(new ClusterMessage.BudgetChanged(event.userId()));
+    }
+}
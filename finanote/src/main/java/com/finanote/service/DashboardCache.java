@@ -0,0 +1,95 @@
+package com.finanote.service;
+
+import com.finanote.cluster.ClusterEventBus;
+import com.finanote.cluster.ClusterMessage;
+import com.finanote.dto.DashboardStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size- and TTL-bounded cache of {@link DashboardStats} per (user, year, month). Entries are
+ * invalidated through the cluster bus once the writing transaction commits, on whichever node
+ * made the write: expense writes drop only the months they touched, budget changes drop every
+ * month of that user.
+ */
+@Component
+public class DashboardCache implements MeterBinder {
+
+    private final Cache<Key, DashboardStats> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final UserGenerations generations = new UserGenerations();
+
+    public DashboardCache(@Value("${finanote.dashboard-cache.max-size:10000}") long maxSize,
+                          @Value("${finanote.dashboard-cache.ttl:10m}") Duration ttl,
+                          ClusterEventBus clusterEventBus) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        clusterEventBus.subscribe(this::onClusterMessage);
+    }
+
+    public DashboardStats get(Long userId, int year, int month, Supplier<DashboardStats> loader) {
+        return generations.get(cache, new Key(userId, year, month), userId, loader);
+    }
+
+    // Invalidating a single key waits for a load of that key in progress, so it needs no generation
+    public void evict(Long userId, YearMonth month) {
+        cache.invalidate(new Key(userId, month.getYear(), month.getMonthValue()));
+        invalidations.incrementAndGet();
+    }
+
+    public void evictUser(Long userId) {
+        generations.evictIf(cache, userId, key -> key.userId().equals(userId));
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * Write-driven invalidations; {@link CacheStats#evictionCount()} only counts size/TTL evictions.
+     */
+    public long invalidationCount() {
+        return invalidations.get();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "dashboard");
+        FunctionCounter.builder("finanote.dashboard.cache.invalidations", invalidations, AtomicLong::get)
+                .description("Dashboard entries dropped because of expense or budget writes")
+                .register(registry);
+    }
+
+    private void onClusterMessage(ClusterMessage message) {
+        if (message instanceof ClusterMessage.ExpensesChanged changed) {
+            for (YearMonth month : changed.months()) {
+                evict(changed.userId(), month);
+            }
+        } else if (message instanceof ClusterMessage.BudgetChanged changed) {
+            evictUser(changed.userId());
+        }
+    }
+
+    private record Key(Long userId, int year, int month) {
+    }
+}
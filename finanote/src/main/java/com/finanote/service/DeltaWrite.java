@@ -0,0 +1,19 @@
+package com.finanote.service;
+
+import org.springframework.boot.jdbc.DatabaseDriver;
+
+/**
+ * How running totals are incremented: with the database's native upsert where the repository
+ * has one, otherwise with an UPDATE followed by an INSERT when no row matched.
+ */
+enum DeltaWrite {
+    POSTGRESQL_UPSERT, H2_MERGE, UPDATE_THEN_INSERT;
+
+    static DeltaWrite forJdbcUrl(String datasourceUrl) {
+        return switch (DatabaseDriver.fromJdbcUrl(datasourceUrl)) {
+            case POSTGRESQL -> POSTGRESQL_UPSERT;
+            case H2 -> H2_MERGE;
+            default -> UPDATE_THEN_INSERT;
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.finanote.service;
+
+import java.time.YearMonth;
+import java.util.Set;
+
+/**
+ * Published inside the writing transaction whenever expenses of a user are created, updated
+ * or deleted. {@code months} lists every month whose figures may have changed, including the
+ * month an updated expense was moved out of.
+ */
+public record ExpenseChangedEvent(Long userId, Set<YearMonth> months) {
+}
@@ -0,0 +1,21 @@
+package com.finanote.service;
+
+import com.finanote.repository.ExpenseDocument;
+
+import java.util.List;
+
+/**
+ * Published inside the writing transaction alongside {@link ExpenseChangedEvent}, carrying the
+ * new text of created or updated expenses and the ids of deleted ones so the search index can
+ * be patched without reading them back.
+ */
+public record ExpenseDocumentsChangedEvent(Long userId, List<ExpenseDocument> upserted, List<Long> removedIds) {
+
+    public static ExpenseDocumentsChangedEvent upserted(Long userId, List<ExpenseDocument> documents) {
+        return new ExpenseDocumentsChangedEvent(userId, documents, List.of());
+    }
+
+    public static ExpenseDocumentsChangedEvent removed(Long userId, Long expenseId) {
+        return new ExpenseDocumentsChangedEvent(userId, List.of(), List.of(expenseId));
+    }
+}
@@ -0,0 +1,248 @@
+package com.finanote.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finanote.dto.ExpenseRequest;
+import com.finanote.dto.ImportResult;
+import com.finanote.model.Category;
+import com.finanote.model.Expense;
+import com.finanote.model.Money;
+import com.finanote.model.User;
+import com.finanote.repository.ExpenseDocument;
+import com.finanote.repository.ExpenseRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of expenses from a JSON array or a CSV stream. Rows are parsed and validated
+ * one at a time; valid rows are persisted in chunks, each chunk in its own transaction using
+ * JDBC batch inserts. Invalid rows and failed chunks are reported per row without stopping
+ * the rest of the import.
+ */
+@Service
+public class ExpenseImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ExpenseRepository expenseRepository;
+    private final UserService userService;
+    private final MonthlySummaryService monthlySummaryService;
+    private final BudgetAlertService budgetAlertService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public ExpenseImportService(ExpenseRepository expenseRepository, UserService userService,
+                                MonthlySummaryService monthlySummaryService, BudgetAlertService budgetAlertService,
+                                ApplicationEventPublisher eventPublisher, EntityManager entityManager,
+                                TransactionTemplate transactionTemplate, Validator validator,
+                                ObjectMapper objectMapper,
+                                @Value("${finanote.import.chunk-size:500}") int chunkSize) {
+        this.expenseRepository = expenseRepository;
+        this.userService = userService;
+        this.monthlySummaryService = monthlySummaryService;
+        this.budgetAlertService = budgetAlertService;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportResult importJson(Long userId, InputStream input) throws IOException {
+        Batch batch = new Batch(userId);
+
+        try (JsonParser parser = objectMapper.createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new RuntimeException("Expected a JSON array of expenses");
+            }
+
+            long row = 0;
+            try {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    row++;
+                    JsonNode node = objectMapper.readTree(parser);
+                    try {
+                        batch.add(row, objectMapper.treeToValue(node, ExpenseRequest.class));
+                    } catch (JsonProcessingException e) {
+                        batch.reject(row, "Invalid row: " + e.getOriginalMessage());
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                // Malformed JSON cannot be resynchronised; keep what was imported so far
+                batch.reject(row, "Malformed JSON, import stopped: " + e.getOriginalMessage());
+            }
+        }
+
+        return batch.finish();
+    }
+
+    public ImportResult importCsv(Long userId, Reader input) throws IOException {
+        Batch batch = new Batch(userId);
+        CsvRecordReader reader = new CsvRecordReader(input);
+
+        List<String> header = reader.next();
+        if (header == null) {
+            return batch.finish();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("description", "amount", "category", "expensedate")) {
+            if (!columns.containsKey(required)) {
+                throw new RuntimeException("CSV header must contain description, amount, category and expenseDate");
+            }
+        }
+
+        long row = 0;
+        List<String> fields;
+        while ((fields = reader.next()) != null) {
+            row++;
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                batch.add(row, toRequest(fields, columns));
+            } catch (RuntimeException e) {
+                batch.reject(row, "Invalid row: " + e.getMessage());
+            }
+        }
+
+        return batch.finish();
+    }
+
+    private ExpenseRequest toRequest(List<String> fields, Map<String, Integer> columns) {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setDescription(field(fields, columns, "description"));
+
+        String amount = field(fields, columns, "amount");
+        request.setAmountCents(amount == null ? null : Money.parseCents(amount));
+
+        String category = field(fields, columns, "category");
+        request.setCategory(category == null ? null : Category.valueOf(category.toUpperCase(Locale.ROOT)));
+
+        String date = field(fields, columns, "expensedate");
+        request.setExpenseDate(date == null ? null : LocalDate.parse(date));
+
+        request.setNotes(field(fields, columns, "notes"));
+        return request;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private void persist(Long userId, List<Expense> expenses) {
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userService.getUserReference(userId);
+            for (Expense expense : expenses) {
+                expense.setUser(user);
+            }
+            expenseRepository.saveAll(expenses);
+            monthlySummaryService.recordCreatedAll(userId, expenses);
+            budgetAlertService.recordCreatedAll(userId, expenses);
+            eventPublisher.publishEvent(new ExpenseChangedEvent(userId, expenses.stream()
+                    .map(expense -> YearMonth.from(expense.getExpenseDate()))
+                    .collect(Collectors.toSet())));
+            eventPublisher.publishEvent(ExpenseDocumentsChangedEvent.upserted(userId, expenses.stream()
+                    .map(ExpenseDocument::from)
+                    .toList()));
+            expenseRepository.flush();
+            entityManager.clear();
+        });
+    }
+
+    private class Batch {
+
+        private final Long userId;
+        private final List<Expense> pending = new ArrayList<>();
+        private final List<Long> pendingRows = new ArrayList<>();
+        private final List<ImportResult.RowError> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+
+        Batch(Long userId) {
+            this.userId = userId;
+        }
+
+        void add(long row, ExpenseRequest request) {
+            Set<ConstraintViolation<ExpenseRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                reject(row, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+
+            Expense expense = new Expense();
+            expense.setDescription(request.getDescription());
+            expense.setAmountCents(request.getAmountCents());
+            expense.setCategory(request.getCategory());
+            expense.setExpenseDate(request.getExpenseDate());
+            expense.setNotes(request.getNotes());
+            pending.add(expense);
+            pendingRows.add(row);
+
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportResult.RowError(row, message));
+            }
+        }
+
+        ImportResult finish() {
+            flush();
+            return new ImportResult(imported, failed, errors);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                persist(userId, pending);
+                imported += pending.size();
+            } catch (RuntimeException e) {
+                String message = "Could not be saved: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                for (Long row : pendingRows) {
+                    reject(row, message);
+                }
+            }
+            pending.clear();
+            pendingRows.clear();
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.finanote.service;
+
+import com.finanote.cluster.ClusterEventBus;
+import com.finanote.cluster.ClusterMessage;
+import com.finanote.config.GatedTransactionTemplate;
+import com.finanote.repository.ExpenseDocument;
+import com.finanote.repository.ExpenseRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Per-user inverted index over expense descriptions and notes. A user's index is read from the
+ * database on first search (or at startup with {@code finanote.search.preload}) and then patched
+ * from committed writes of this node; writes on other nodes drop it so it is rebuilt on the next
+ * search. Every query term also matches longer terms it is a prefix of.
+ */
+@Component
+public class ExpenseSearchIndex implements ApplicationRunner, MeterBinder {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final int MAX_TERM_LENGTH = 32;
+    private static final int DESCRIPTION_WEIGHT = 2;
+    private static final int NOTES_WEIGHT = 1;
+    private static final float PREFIX_BOOST = 0.5f;
+
+    private final ExpenseRepository expenseRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Cache<Long, UserIndex> indexes;
+    private final boolean preload;
+    private final int maxUsers;
+
+    public ExpenseSearchIndex(ExpenseRepository expenseRepository, GatedTransactionTemplate transactionTemplate,
+                              ClusterEventBus clusterEventBus,
+                              @Value("${finanote.search.max-users:1000}") int maxUsers,
+                              @Value("${finanote.search.idle-ttl:30m}") Duration idleTtl,
+                              @Value("${finanote.search.preload:false}") boolean preload) {
+        this.expenseRepository = expenseRepository;
+        this.readOnlyTransaction = transactionTemplate.readOnly();
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(idleTtl)
+                .recordStats()
+                .build();
+        this.preload = preload;
+        this.maxUsers = maxUsers;
+        // Writes of this node arrive as document events; only other nodes' writes need a rebuild
+        clusterEventBus.subscribeRemote(message -> {
+            if (message instanceof ClusterMessage.ExpensesChanged changed) {
+                indexes.invalidate(changed.userId());
+            }
+        });
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (preload) {
+            for (Long userId : expenseRepository.findDistinctUserIds(PageRequest.of(0, maxUsers))) {
+                indexFor(userId);
+            }
+        }
+    }
+
+    /**
+     * Ids of the expenses matching every term of {@code query}, best match first, skipping
+     * {@code offset} and returning at most {@code limit}. Ties are broken by date, newest first.
+     */
+    public Hits search(Long userId, String query, int offset, int limit) {
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            return new Hits(0, List.of());
+        }
+        return indexFor(userId).search(terms, offset, limit);
+    }
+
+    @TransactionalEventListener
+    public void onDocumentsChanged(ExpenseDocumentsChangedEvent event) {
+        UserIndex index = indexes.getIfPresent(event.userId());
+        if (index != null) {
+            index.apply(event.upserted(), event.removedIds());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, indexes, "search");
+    }
+
+    /**
+     * Lower-cased, accent-free runs of letters and digits; terms are cut to
+     * {@value #MAX_TERM_LENGTH} characters.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>();
+        for (String term : SEPARATORS.split(folded)) {
+            if (!term.isEmpty()) {
+                terms.add(term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term);
+            }
+        }
+        return terms;
+    }
+
+    private UserIndex indexFor(Long userId) {
+        UserIndex index = indexes.get(userId, id -> new UserIndex());
+        index.ensureBuilt(userId);
+        return index;
+    }
+
+    public record Hits(long total, List<Long> ids) {
+    }
+
+    /**
+     * Documents live in numbered slots; postings hold (slot, weight) pairs so large indexes do
+     * not box an object per occurrence. Building holds the write lock, so writes committed while
+     * the database is read are applied afterwards instead of being lost.
+     */
+    private final class UserIndex {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final TreeMap<String, Postings> postings = new TreeMap<>();
+        private final Map<Long, Integer> slotById = new HashMap<>();
+        private final Deque<Integer> freeSlots = new ArrayDeque<>();
+        private long[] ids = new long[16];
+        private long[] dates = new long[16];
+        private String[][] slotTerms = new String[16][];
+        private int slotCount;
+        private volatile boolean built;
+
+        void ensureBuilt(Long userId) {
+            if (built) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                if (!built) {
+                    readOnlyTransaction.executeWithoutResult(status -> {
+                        try (Stream<ExpenseDocument> documents = expenseRepository.streamDocumentsByUserId(userId)) {
+                            documents.forEach(this::upsert);
+                        }
+                    });
+                    built = true;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void apply(List<ExpenseDocument> upserted, List<Long> removedIds) {
+            lock.writeLock().lock();
+            try {
+                // Not read yet: the build will see these writes in the database
+                if (!built) {
+                    return;
+                }
+                removedIds.forEach(this::remove);
+                upserted.forEach(this::upsert);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        Hits search(List<String> terms, int offset, int limit) {
+            lock.readLock().lock();
+            try {
+                int documentCount = slotById.size();
+                float[] scores = new float[slotCount];
+                int[] matchedTerms = new int[slotCount];
+                float[] best = new float[slotCount];
+                int[] touched = new int[0];
+                int touchedCount = 0;
+
+                for (int t = 0; t < terms.size(); t++) {
+                    String term = terms.get(t);
+                    touchedCount = 0;
+                    for (Map.Entry<String, Postings> entry
+                            : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                        Postings list = entry.getValue();
+                        float idf = (float) Math.log(1 + (double) documentCount / list.size);
+                        float boost = entry.getKey().length() == term.length() ? 1f : PREFIX_BOOST;
+                        for (int i = 0; i < list.size; i++) {
+                            int slot = list.slots[i];
+                            // Only documents that matched every earlier term can still qualify
+                            if (matchedTerms[slot] != t) {
+                                continue;
+                            }
+                            if (best[slot] == 0) {
+                                if (touchedCount == touched.length) {
+                                    touched = Arrays.copyOf(touched, Math.max(16, touchedCount * 2));
+                                }
+                                touched[touchedCount++] = slot;
+                            }
+                            best[slot] = Math.max(best[slot], list.weights[i] * idf * boost);
+                        }
+                    }
+                    for (int i = 0; i < touchedCount; i++) {
+                        int slot = touched[i];
+                        scores[slot] += best[slot];
+                        matchedTerms[slot] = t + 1;
+                        best[slot] = 0;
+                    }
+                    if (touchedCount == 0) {
+                        return new Hits(0, List.of());
+                    }
+                }
+
+                // The last term's matches are exactly the documents that matched every term
+                return new Hits(touchedCount, rank(touched, touchedCount, scores, offset, limit));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private List<Long> rank(int[] matches, int count, float[] scores, int offset, int limit) {
+            if (offset >= count) {
+                return List.of();
+            }
+            Comparator<Integer> order = Comparator.<Integer>comparingDouble(slot -> scores[slot]).reversed()
+                    .thenComparing(Comparator.<Integer>comparingLong(slot -> dates[slot]).reversed())
+                    .thenComparing(Comparator.<Integer>comparingLong(slot -> ids[slot]).reversed());
+
+            // Keep only the best offset + limit matches; the heap's head is the worst of them
+            int keep = (int) Math.min(count, (long) offset + limit);
+            PriorityQueue<Integer> top = new PriorityQueue<>(keep, order.reversed());
+            for (int i = 0; i < count; i++) {
+                top.offer(matches[i]);
+                if (top.size() > keep) {
+                    top.poll();
+                }
+            }
+            List<Integer> ranked = new ArrayList<>(top);
+            ranked.sort(order);
+
+            List<Long> page = new ArrayList<>(ranked.size() - offset);
+            for (int i = offset; i < ranked.size(); i++) {
+                page.add(ids[ranked.get(i)]);
+            }
+            return page;
+        }
+
+        private void upsert(ExpenseDocument document) {
+            remove(document.id());
+
+            Map<String, Integer> weights = new HashMap<>();
+            for (String term : tokenize(document.description())) {
+                weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+            }
+            for (String term : tokenize(document.notes())) {
+                weights.merge(term, NOTES_WEIGHT, Integer::sum);
+            }
+
+            int slot = freeSlots.isEmpty() ? nextSlot() : freeSlots.pop();
+            ids[slot] = document.id();
+            dates[slot] = document.expenseDate().toEpochDay();
+            slotTerms[slot] = weights.keySet().toArray(String[]::new);
+            slotById.put(document.id(), slot);
+            weights.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new Postings()).add(slot, weight));
+        }
+
+        private void remove(Long expenseId) {
+            Integer slot = slotById.remove(expenseId);
+            if (slot == null) {
+                return;
+            }
+            for (String term : slotTerms[slot]) {
+                Postings list = postings.get(term);
+                list.remove(slot);
+                if (list.size == 0) {
+                    postings.remove(term);
+                }
+            }
+            slotTerms[slot] = null;
+            freeSlots.push(slot);
+        }
+
+        private int nextSlot() {
+            if (slotCount == ids.length) {
+                int capacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                dates = Arrays.copyOf(dates, capacity);
+                slotTerms = Arrays.copyOf(slotTerms, capacity);
+            }
+            return slotCount++;
+        }
+    }
+
+    private static final class Postings {
+
+        private int[] slots = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        void add(int slot, int weight) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            slots[size] = slot;
+            weights[size] = weight;
+            size++;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    size--;
+                    slots[i] = slots[size];
+                    weights[i] = weights[size];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -1,148 +1,335 @@
 package com.finanote.service;
 
 import com.finanote.dto.DashboardStats;
+import com.finanote.dto.ExpenseCursor;
+import com.finanote.dto.ExpenseFilter;
+import com.finanote.dto.ExpensePage;
 import com.finanote.dto.ExpenseRequest;
 import com.finanote.dto.ExpenseResponse;
+import com.finanote.dto.ExpenseSort;
+import com.finanote.dto.FilterCursor;
+import com.finanote.dto.SearchResult;
 import com.finanote.model.Category;
 import com.finanote.model.Expense;
+import com.finanote.model.MonthlySummary;
 import com.finanote.model.User;
+import com.finanote.repository.ExpenseDocument;
 import com.finanote.repository.ExpenseRepository;
+import com.finanote.repository.ExpenseSpecifications;
+import com.finanote.repository.UserBudgets;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ExpenseService {
 
     private final ExpenseRepository expenseRepository;
     private final UserService userService;
+    private final MonthlySummaryService monthlySummaryService;
+    private final BudgetAlertService budgetAlertService;
+    private final DashboardCache dashboardCache;
+    private final ExpenseSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
-    public ExpenseService(ExpenseRepository expenseRepository, UserService userService) {
+    public ExpenseService(ExpenseRepository expenseRepository, UserService userService,
+                          MonthlySummaryService monthlySummaryService, BudgetAlertService budgetAlertService,
+                          DashboardCache dashboardCache, ExpenseSearchIndex searchIndex, ApplicationEventPublisher eventPublisher,
+                          @Value("${finanote.expenses.page-size.default:50}") int defaultPageSize,
+                          @Value("${finanote.expenses.page-size.max:500}") int maxPageSize) {
         this.expenseRepository = expenseRepository;
         this.userService = userService;
+        this.monthlySummaryService = monthlySummaryService;
+        this.budgetAlertService = budgetAlertService;
+        this.dashboardCache = dashboardCache;
+        this.searchIndex = searchIndex;
+        this.eventPublisher = eventPublisher;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
+    @Transactional
     public ExpenseResponse createExpense(Long userId, ExpenseRequest request) {
-        User user = userService.getUserById(userId);
+        User user = userService.getUserReference(userId);
 
         Expense expense = new Expense();
         expense.setDescription(request.getDescription());
-        expense.setAmount(request.getAmount());
+        expense.setAmountCents(request.getAmountCents());
         expense.setCategory(request.getCategory());
         expense.setExpenseDate(request.getExpenseDate());
         expense.setNotes(request.getNotes());
         expense.setUser(user);
 
         Expense savedExpense = expenseRepository.save(expense);
+        monthlySummaryService.recordCreated(userId, savedExpense);
+        budgetAlertService.recordCreated(userId, savedExpense);
+        eventPublisher.publishEvent(new ExpenseChangedEvent(userId, Set.of(YearMonth.from(savedExpense.getExpenseDate()))));
+        eventPublisher.publishEvent(ExpenseDocumentsChangedEvent.upserted(userId, List.of(ExpenseDocument.from(savedExpense))));
         return ExpenseResponse.fromExpense(savedExpense);
     }
 
+    /**
+     * Every expense of the user, newest first, in one list. Kept for existing clients; large
+     * histories should use {@link #getExpensePage} or {@link #streamAllExpenses}.
+     */
+    @Transactional(readOnly = true)
     public List<ExpenseResponse> getAllExpenses(Long userId) {
-        return expenseRepository.findByUserIdOrderByExpenseDateDesc(userId)
-                .stream()
-                .map(ExpenseResponse::fromExpense)
-                .collect(Collectors.toList());
+        return expenseRepository.findFirstPage(userId, Pageable.unpaged());
     }
 
-    public List<ExpenseResponse> getExpensesByMonth(Long userId, int year, int month) {
-        return expenseRepository.findByUserIdAndMonth(userId, year, month)
-                .stream()
-                .map(ExpenseResponse::fromExpense)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public ExpensePage getExpensePage(Long userId, String cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        // Fetch one extra row to know whether another page follows
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<ExpenseResponse> items;
+        if (cursor == null || cursor.isBlank()) {
+            items = expenseRepository.findFirstPage(userId, limit);
+        } else {
+            ExpenseCursor position = ExpenseCursor.decode(cursor);
+            items = expenseRepository.findPageAfter(userId, position.expenseDate(), position.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            ExpenseResponse last = items.get(pageSize - 1);
+            nextCursor = new ExpenseCursor(last.getExpenseDate(), last.getId()).encode();
+        }
+        return new ExpensePage(items, nextCursor);
     }
 
-    public ExpenseResponse getExpenseById(Long userId, Long expenseId) {
-        Expense expense = expenseRepository.findById(expenseId)
-                .orElseThrow(() -> new RuntimeException("Expense not found"));
+    /**
+     * One keyset page of the expenses matching {@code filter}, in the order given by
+     * {@code sort}. The criteria and the cursor position are compiled into a single query.
+     */
+    @Transactional(readOnly = true)
+    public ExpensePage filterExpenses(Long userId, ExpenseFilter filter, String sort, String cursor, Integer size) {
+        if (filter.getMinAmountCents() != null && filter.getMaxAmountCents() != null
+                && filter.getMinAmountCents() > filter.getMaxAmountCents()) {
+            throw new RuntimeException("'minAmount' must not be greater than 'maxAmount'");
+        }
+        if (filter.getFrom() != null && filter.getTo() != null && filter.getFrom().isAfter(filter.getTo())) {
+            throw new RuntimeException("'from' must not be after 'to'");
+        }
 
-        if (!expense.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Unauthorized access to expense");
+        ExpenseSort order = ExpenseSort.parse(sort);
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+
+        Specification<Expense> specification = ExpenseSpecifications.matching(userId, filter);
+        if (cursor != null && !cursor.isBlank()) {
+            specification = specification.and(ExpenseSpecifications.after(order, FilterCursor.decode(cursor, order)));
         }
+        // Fetch one extra row to know whether another page follows
+        List<ExpenseResponse> items = expenseRepository.findFiltered(specification, order, pageSize + 1);
 
-        return ExpenseResponse.fromExpense(expense);
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            ExpenseResponse last = items.get(pageSize - 1);
+            nextCursor = new FilterCursor(order, order.keyOf(last), last.getId()).encode();
+        }
+        return new ExpensePage(items, nextCursor);
+    }
+
+    /**
+     * Hands every expense of the user to {@code consumer}, newest first, reading rows from an
+     * open cursor. Rows are projected straight into responses, so nothing accumulates in the
+     * persistence context and heap use does not grow with history.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllExpenses(Long userId, Consumer<ExpenseResponse> consumer) {
+        try (Stream<ExpenseResponse> expenses = expenseRepository.streamByUserId(userId)) {
+            expenses.forEach(consumer);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<ExpenseResponse> getExpensesByMonth(Long userId, int year, int month) {
+        return expenseRepository.findByUserIdAndMonth(userId, year, month);
+    }
+
+    @Transactional(readOnly = true)
+    public ExpenseResponse getExpenseById(Long userId, Long expenseId) {
+        return expenseRepository.findResponseByIdAndUserId(expenseId, userId)
+                .orElseThrow(() -> new RuntimeException("Expense not found"));
     }
 
+    @Transactional
     public ExpenseResponse updateExpense(Long userId, Long expenseId, ExpenseRequest request) {
-        Expense expense = expenseRepository.findById(expenseId)
+        // The previous values are still needed for the rollup deltas
+        Expense expense = expenseRepository.findForUpdateByIdAndUserId(expenseId, userId)
                 .orElseThrow(() -> new RuntimeException("Expense not found"));
 
-        if (!expense.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Unauthorized access to expense");
-        }
+        LocalDate oldDate = expense.getExpenseDate();
+        Category oldCategory = expense.getCategory();
+        long oldAmountCents = expense.getAmountCents();
 
+        // Managed and locked: flushed as a single UPDATE
         expense.setDescription(request.getDescription());
-        expense.setAmount(request.getAmount());
+        expense.setAmountCents(request.getAmountCents());
         expense.setCategory(request.getCategory());
         expense.setExpenseDate(request.getExpenseDate());
         expense.setNotes(request.getNotes());
 
-        Expense updatedExpense = expenseRepository.save(expense);
-        return ExpenseResponse.fromExpense(updatedExpense);
+        monthlySummaryService.recordUpdated(userId, oldDate, oldCategory, oldAmountCents, expense);
+        budgetAlertService.recordUpdated(userId, oldDate, oldCategory, oldAmountCents, expense);
+        eventPublisher.publishEvent(new ExpenseChangedEvent(userId,
+                Set.copyOf(List.of(YearMonth.from(oldDate), YearMonth.from(expense.getExpenseDate())))));
+        eventPublisher.publishEvent(ExpenseDocumentsChangedEvent.upserted(userId, List.of(ExpenseDocument.from(expense))));
+        return ExpenseResponse.fromExpense(expense);
     }
 
+    @Transactional
     public void deleteExpense(Long userId, Long expenseId) {
-        Expense expense = expenseRepository.findById(expenseId)
+        Expense expense = expenseRepository.findForUpdateByIdAndUserId(expenseId, userId)
                 .orElseThrow(() -> new RuntimeException("Expense not found"));
 
-        if (!expense.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Unauthorized access to expense");
+        expenseRepository.delete(expense);
+
+        monthlySummaryService.recordDeleted(userId, expense);
+        budgetAlertService.recordDeleted(userId, expense);
+        eventPublisher.publishEvent(new ExpenseChangedEvent(userId, Set.of(YearMonth.from(expense.getExpenseDate()))));
+        eventPublisher.publishEvent(ExpenseDocumentsChangedEvent.removed(userId, expenseId));
+    }
+
+    /**
+     * One page of the expenses whose description or notes contain every term of {@code query}
+     * (as a word or word prefix), ranked by the in-memory search index. Only the page itself
+     * is read from the database.
+     */
+    @Transactional(readOnly = true)
+    public SearchResult searchExpenses(Long userId, String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new RuntimeException("Search query must not be empty");
         }
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        int pageNumber = page == null ? 0 : Math.max(0, page);
+        int offset = (int) Math.min(Integer.MAX_VALUE, (long) pageNumber * pageSize);
 
-        expenseRepository.delete(expense);
+        ExpenseSearchIndex.Hits hits = searchIndex.search(userId, query, offset, pageSize);
+        if (hits.ids().isEmpty()) {
+            return new SearchResult(List.of(), hits.total(), pageNumber, pageSize);
+        }
+
+        Map<Long, ExpenseResponse> byId = expenseRepository.findResponsesByUserIdAndIdIn(userId, hits.ids()).stream()
+                .collect(Collectors.toMap(ExpenseResponse::getId, Function.identity()));
+        // Keep the index's ranking; an expense deleted since the lookup is simply left out
+        List<ExpenseResponse> items = hits.ids().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new SearchResult(items, hits.total(), pageNumber, pageSize);
     }
 
     public DashboardStats getDashboardStats(Long userId, int year, int month) {
-        User user = userService.getUserById(userId);
+        return dashboardCache.get(userId, year, month, () -> computeDashboardStats(userId, year, month));
+    }
+
+    private DashboardStats computeDashboardStats(Long userId, int year, int month) {
+        UserBudgets budgets = userService.getBudgets(userId);
+        long monthlyBudget = budgets.monthlyBudgetCents();
         DashboardStats stats = new DashboardStats();
 
-        // Get total expenses for the month
-        Double totalExpenses = expenseRepository.getTotalExpensesByMonth(userId, year, month);
-        totalExpenses = totalExpenses != null ? totalExpenses : 0.0;
+        // Read the pre-aggregated rollup: one row per (category, day) with its sum and count,
+        // folded into cents arrays indexed by category ordinal and day of month
+        Category[] allCategories = Category.values();
+        long[] categoryTotals = new long[allCategories.length];
+        boolean[] categorySeen = new boolean[allCategories.length];
+        long[] dailyTotals = new long[32];
+        boolean[] daySeen = new boolean[32];
+        long totalExpenses = 0;
+        long totalTransactions = 0;
+
+        for (MonthlySummary summary : monthlySummaryService.getMonth(userId, year, month)) {
+            int category = summary.getCategory().ordinal();
+            int day = summary.getDay();
+            long amount = summary.getTotalCents();
+
+            categoryTotals[category] += amount;
+            categorySeen[category] = true;
+            dailyTotals[day] += amount;
+            daySeen[day] = true;
+            totalExpenses += amount;
+            totalTransactions += summary.getTransactionCount();
+        }
+
         stats.setTotalExpenses(totalExpenses);
+        stats.setTotalTransactions((int) totalTransactions);
 
         // Budget info
-        Double monthlyBudget = user.getMonthlyBudget();
         stats.setMonthlyBudget(monthlyBudget);
         stats.setRemainingBudget(monthlyBudget - totalExpenses);
-        stats.setBudgetPercentage(monthlyBudget > 0 ? (totalExpenses / monthlyBudget) * 100 : 0);
+        stats.setBudgetPercentage(monthlyBudget > 0 ? totalExpenses * 100.0 / monthlyBudget : 0);
 
         // Expenses by category
-        List<Object[]> categoryData = expenseRepository.getExpensesByCategory(userId, year, month);
-        Map<String, Double> expensesByCategory = new LinkedHashMap<>();
+        Map<String, Long> expensesByCategory = new LinkedHashMap<>();
         Map<String, String> categoryColors = new LinkedHashMap<>();
-
-        for (Object[] row : categoryData) {
-            Category category = (Category) row[0];
-            Double amount = (Double) row[1];
-            expensesByCategory.put(category.getDisplayName(), amount);
-            categoryColors.put(category.getDisplayName(), category.getColor());
+        for (Category category : allCategories) {
+            if (categorySeen[category.ordinal()]) {
+                expensesByCategory.put(category.getDisplayName(), categoryTotals[category.ordinal()]);
+                categoryColors.put(category.getDisplayName(), category.getColor());
+            }
         }
         stats.setExpensesByCategory(expensesByCategory);
         stats.setCategoryColors(categoryColors);
 
+        // Category budgets
+        Map<String, Long> categoryBudgets = new LinkedHashMap<>();
+        Map<String, Long> categoryRemaining = new LinkedHashMap<>();
+        Map<String, Double> categoryBudgetPercentage = new LinkedHashMap<>();
+        long[] categoryBudgetCents = budgets.categoryBudgetCents();
+        for (Category category : allCategories) {
+            long budget = categoryBudgetCents[category.ordinal()];
+            if (budget > 0) {
+                long spent = categoryTotals[category.ordinal()];
+                categoryBudgets.put(category.getDisplayName(), budget);
+                categoryRemaining.put(category.getDisplayName(), budget - spent);
+                categoryBudgetPercentage.put(category.getDisplayName(), spent * 100.0 / budget);
+                categoryColors.putIfAbsent(category.getDisplayName(), category.getColor());
+            }
+        }
+        stats.setCategoryBudgets(categoryBudgets);
+        stats.setCategoryRemaining(categoryRemaining);
+        stats.setCategoryBudgetPercentage(categoryBudgetPercentage);
+
         // Daily expenses
-        List<Object[]> dailyData = expenseRepository.getDailyExpenses(userId, year, month);
         List<DashboardStats.DailyExpense> dailyExpenses = new ArrayList<>();
-        for (Object[] row : dailyData) {
-            int day = (Integer) row[0];
-            Double amount = (Double) row[1];
-            dailyExpenses.add(new DashboardStats.DailyExpense(day, amount));
+        for (int day = 1; day < dailyTotals.length; day++) {
+            if (daySeen[day]) {
+                dailyExpenses.add(new DashboardStats.DailyExpense(day, dailyTotals[day]));
+            }
         }
         stats.setDailyExpenses(dailyExpenses);
 
-        // Total transactions
-        List<Expense> monthlyExpenses = expenseRepository.findByUserIdAndMonth(userId, year, month);
-        stats.setTotalTransactions(monthlyExpenses.size());
-
         return stats;
     }
 
-    public List<ExpenseResponse> getExpensesByDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
-        return expenseRepository.findByUserIdAndExpenseDateBetween(userId, startDate, endDate)
-                .stream()
-                .map(ExpenseResponse::fromExpense)
-                .collect(Collectors.toList());
+    /**
+     * Streams the expenses dated {@code from}..{@code to} (inclusive), oldest first, with the
+     * same constant-memory cursor projection as {@link #streamAllExpenses}.
+     */
+    @Transactional(readOnly = true)
+    public void streamExpensesByDateRange(Long userId, LocalDate from, LocalDate to,
+                                          Consumer<ExpenseResponse> consumer) {
+        try (Stream<ExpenseResponse> expenses =
+                     expenseRepository.streamByUserIdAndDateRange(userId, from, to.plusDays(1))) {
+            expenses.forEach(consumer);
+        }
     }
 }
@@ -0,0 +1,31 @@
+package com.finanote.service;
+
+import com.finanote.model.BudgetAlert;
+import com.finanote.model.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Local stand-in sink that writes each alert to the log.
+ */
+@Component
+@ConditionalOnProperty(name = "finanote.alerts.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingBudgetAlertSink implements BudgetAlertSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingBudgetAlertSink.class);
+
+    @Override
+    public void deliver(List<BudgetAlert> alerts) {
+        for (BudgetAlert alert : alerts) {
+            log.info("Budget alert for user {}: {}% of the {}-{} {} budget reached ({} of {})",
+                    alert.getUserId(), alert.getThresholdPercent(), alert.getYear(),
+                    String.format("%02d", alert.getMonth()),
+                    alert.getCategory() == null ? "monthly" : alert.getCategory().getDisplayName(),
+                    Money.toDecimal(alert.getTotalCents()), Money.toDecimal(alert.getBudgetCents()));
+        }
+    }
+}
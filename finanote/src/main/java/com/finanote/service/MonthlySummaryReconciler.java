@@ -0,0 +1,68 @@
+package com.finanote.service;
+
+import com.finanote.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuild/verify job for the monthly summary rollup and the running month and category totals
+ * behind budget alerts. Runs once at startup (which also backfills databases created before the
+ * rollup existed) and optionally on a cron.
+ */
+@Component
+public class MonthlySummaryReconciler implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(MonthlySummaryReconciler.class);
+
+    private final MonthlySummaryService monthlySummaryService;
+    private final BudgetAlertService budgetAlertService;
+    private final UserRepository userRepository;
+    private final boolean reconcileOnStartup;
+
+    public MonthlySummaryReconciler(MonthlySummaryService monthlySummaryService,
+                                    BudgetAlertService budgetAlertService,
+                                    UserRepository userRepository,
+                                    @Value("${finanote.rollup.reconcile-on-startup:true}") boolean reconcileOnStartup) {
+        this.monthlySummaryService = monthlySummaryService;
+        this.budgetAlertService = budgetAlertService;
+        this.userRepository = userRepository;
+        this.reconcileOnStartup = reconcileOnStartup;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (reconcileOnStartup) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(cron = "${finanote.rollup.reconcile-cron:-}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        int rebuilt = 0;
+        int totalsCorrected = 0;
+
+        for (Long userId : userRepository.findAllIds()) {
+            int mismatches = monthlySummaryService.verify(userId);
+            if (mismatches > 0) {
+                log.warn("Monthly summary for user {} has {} mismatched buckets, rebuilding", userId, mismatches);
+                monthlySummaryService.rebuild(userId);
+                rebuilt++;
+            }
+
+            int corrected = budgetAlertService.reconcileTotals(userId);
+            if (corrected > 0) {
+                log.warn("Running totals for user {} had {} mismatched rows, corrected", userId, corrected);
+                totalsCorrected++;
+            }
+        }
+
+        log.info("Monthly summary reconcile finished in {} ms, {} users rebuilt, {} users' running totals corrected",
+                System.currentTimeMillis() - start, rebuilt, totalsCorrected);
+    }
+}
@@ -0,0 +1,208 @@
+package com.finanote.service;
+
+import com.finanote.model.Category;
+import com.finanote.model.Expense;
+import com.finanote.model.MonthlySummary;
+import com.finanote.repository.DailyAggregate;
+import com.finanote.repository.ExpenseRepository;
+import com.finanote.repository.MonthlyCategoryTotal;
+import com.finanote.repository.MonthlySummaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the per-(user, year, month, category, day) rollup that backs the dashboard.
+ * Writes apply deltas inside the caller's transaction; rebuild/verify reconcile the
+ * rollup against the raw expenses table.
+ */
+@Service
+public class MonthlySummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(MonthlySummaryService.class);
+
+    private final MonthlySummaryRepository summaryRepository;
+    private final ExpenseRepository expenseRepository;
+    private final DeltaWrite deltaWrite;
+
+    public MonthlySummaryService(MonthlySummaryRepository summaryRepository, ExpenseRepository expenseRepository,
+                                 @Value("${spring.datasource.url}") String datasourceUrl) {
+        this.summaryRepository = summaryRepository;
+        this.expenseRepository = expenseRepository;
+        this.deltaWrite = DeltaWrite.forJdbcUrl(datasourceUrl);
+    }
+
+    @Transactional
+    public void recordCreated(Long userId, Expense expense) {
+        applyDelta(userId, expense.getExpenseDate(), expense.getCategory(), expense.getAmountCents(), 1);
+    }
+
+    /**
+     * Applies one delta per touched (day, category) bucket for a batch of new expenses. Buckets
+     * are written in (year, month, category, day) order, the order every write here locks
+     * summary rows in, so concurrent writes do not wait on each other in a cycle.
+     */
+    @Transactional
+    public void recordCreatedAll(Long userId, Collection<Expense> expenses) {
+        Map<Bucket, MonthlySummary> deltas = new TreeMap<>();
+        for (Expense expense : expenses) {
+            LocalDate date = expense.getExpenseDate();
+            MonthlySummary delta = deltas.computeIfAbsent(
+                    Bucket.of(date, expense.getCategory()),
+                    bucket -> new MonthlySummary(null, userId, bucket.year(), bucket.month(), bucket.category(),
+                            bucket.day(), 0, 0));
+            delta.setTotalCents(delta.getTotalCents() + expense.getAmountCents());
+            delta.setTransactionCount(delta.getTransactionCount() + 1);
+        }
+
+        for (MonthlySummary delta : deltas.values()) {
+            applyDelta(userId, LocalDate.of(delta.getYear(), delta.getMonth(), delta.getDay()),
+                    delta.getCategory(), delta.getTotalCents(), delta.getTransactionCount());
+        }
+    }
+
+    @Transactional
+    public void recordDeleted(Long userId, Expense expense) {
+        applyDelta(userId, expense.getExpenseDate(), expense.getCategory(), -expense.getAmountCents(), -1);
+    }
+
+    @Transactional
+    public void recordUpdated(Long userId, LocalDate oldDate, Category oldCategory, long oldAmountCents,
+                              Expense updated) {
+        Bucket from = Bucket.of(oldDate, oldCategory);
+        Bucket to = Bucket.of(updated.getExpenseDate(), updated.getCategory());
+        if (from.equals(to)) {
+            applyDelta(userId, oldDate, oldCategory, updated.getAmountCents() - oldAmountCents, 0);
+        } else if (from.compareTo(to) < 0) {
+            // Same row order as recordCreatedAll
+            applyDelta(userId, oldDate, oldCategory, -oldAmountCents, -1);
+            applyDelta(userId, updated.getExpenseDate(), updated.getCategory(), updated.getAmountCents(), 1);
+        } else {
+            applyDelta(userId, updated.getExpenseDate(), updated.getCategory(), updated.getAmountCents(), 1);
+            applyDelta(userId, oldDate, oldCategory, -oldAmountCents, -1);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<MonthlySummary> getMonth(Long userId, int year, int month) {
+        return summaryRepository.findByUserIdAndYearAndMonth(userId, year, month);
+    }
+
+    /**
+     * Folds the rollup of {@code from}..{@code to} (inclusive) into per-month, per-category
+     * totals with one grouped query, streaming its rows straight into primitive arrays.
+     */
+    @Transactional(readOnly = true)
+    MonthlyTotals getMonthlyTotals(Long userId, YearMonth from, YearMonth to) {
+        MonthlyTotals totals = new MonthlyTotals(from, (int) from.until(to, ChronoUnit.MONTHS) + 1,
+                Category.values().length);
+        try (Stream<MonthlyCategoryTotal> rows = summaryRepository.streamMonthlyTotals(userId,
+                from.getYear(), from.getMonthValue(), to.getYear(), to.getMonthValue())) {
+            rows.forEach(row -> totals.add(YearMonth.of(row.year(), row.month()), row.category().ordinal(),
+                    row.totalCents(), row.transactionCount()));
+        }
+        return totals;
+    }
+
+    @Transactional
+    public void rebuild(Long userId) {
+        summaryRepository.deleteByUserId(userId);
+        summaryRepository.insertAggregatedFromExpenses(userId);
+    }
+
+    /**
+     * Compares the rollup for one user with a fresh aggregation of the raw expenses.
+     *
+     * @return the number of buckets that are missing, extra or carry a different sum/count
+     */
+    @Transactional(readOnly = true)
+    public int verify(Long userId) {
+        Map<Bucket, MonthlySummary> expected = aggregateRaw(userId);
+        int mismatches = 0;
+
+        for (MonthlySummary actual : summaryRepository.findByUserId(userId)) {
+            MonthlySummary raw = expected.remove(Bucket.of(actual));
+            if (raw == null
+                    || raw.getTransactionCount() != actual.getTransactionCount()
+                    || raw.getTotalCents() != actual.getTotalCents()) {
+                mismatches++;
+            }
+        }
+        return mismatches + expected.size();
+    }
+
+    private void applyDelta(Long userId, LocalDate date, Category category, long amountCents, long count) {
+        int year = date.getYear();
+        int month = date.getMonthValue();
+        int day = date.getDayOfMonth();
+
+        // Only additions may create a bucket; a change or removal must find an existing one
+        if (count > 0) {
+            switch (deltaWrite) {
+                case POSTGRESQL_UPSERT ->
+                        summaryRepository.upsertDeltaPostgres(userId, year, month, category.name(), day, amountCents, count);
+                case H2_MERGE ->
+                        summaryRepository.mergeDeltaH2(userId, year, month, category.name(), day, amountCents, count);
+                case UPDATE_THEN_INSERT -> {
+                    if (summaryRepository.applyDelta(userId, year, month, category, day, amountCents, count) == 0) {
+                        summaryRepository.save(new MonthlySummary(null, userId, year, month, category, day,
+                                amountCents, count));
+                    }
+                }
+            }
+            return;
+        }
+
+        if (summaryRepository.applyDelta(userId, year, month, category, day, amountCents, count) == 0) {
+            log.warn("Missing monthly summary bucket for user {} on {} ({}); run a reconcile",
+                    userId, date, category);
+        } else if (count < 0) {
+            summaryRepository.deleteIfEmpty(userId, year, month, category, day);
+        }
+    }
+
+    private Map<Bucket, MonthlySummary> aggregateRaw(Long userId) {
+        Map<Bucket, MonthlySummary> buckets = new HashMap<>();
+        for (DailyAggregate aggregate : expenseRepository.getDailyAggregates(userId)) {
+            LocalDate date = aggregate.expenseDate();
+            MonthlySummary summary = new MonthlySummary(null, userId, date.getYear(), date.getMonthValue(),
+                    aggregate.category(), date.getDayOfMonth(), aggregate.totalCents(), aggregate.transactionCount());
+            buckets.put(Bucket.of(summary), summary);
+        }
+        return buckets;
+    }
+
+    private record Bucket(int year, int month, Category category, int day) implements Comparable<Bucket> {
+
+        private static final Comparator<Bucket> ORDER = Comparator.comparingInt(Bucket::year)
+                .thenComparingInt(Bucket::month)
+                .thenComparing(Bucket::category)
+                .thenComparingInt(Bucket::day);
+
+        static Bucket of(LocalDate date, Category category) {
+            return new Bucket(date.getYear(), date.getMonthValue(), category, date.getDayOfMonth());
+        }
+
+        static Bucket of(MonthlySummary summary) {
+            return new Bucket(summary.getYear(), summary.getMonth(), summary.getCategory(), summary.getDay());
+        }
+
+        @Override
+        public int compareTo(Bucket other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.finanote.service;
+
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Per-month, per-category cents and transaction counts for a span of months, held in primitive
+ * arrays indexed by month offset from {@code from} and {@code Category.ordinal()}.
+ */
+final class MonthlyTotals {
+
+    private final YearMonth from;
+    private final long[][] cents;
+    private final long[] counts;
+
+    MonthlyTotals(YearMonth from, int months, int categories) {
+        this.from = from;
+        this.cents = new long[months][categories];
+        this.counts = new long[months];
+    }
+
+    void add(YearMonth month, int category, long amountCents, long transactionCount) {
+        int index = indexOf(month);
+        cents[index][category] += amountCents;
+        counts[index] += transactionCount;
+    }
+
+    int indexOf(YearMonth month) {
+        return (int) from.until(month, ChronoUnit.MONTHS);
+    }
+
+    int months() {
+        return counts.length;
+    }
+
+    long[] categoryCents(int index) {
+        return cents[index];
+    }
+
+    long total(int index) {
+        long total = 0;
+        for (long amount : cents[index]) {
+            total += amount;
+        }
+        return total;
+    }
+
+    long count(int index) {
+        return counts[index];
+    }
+}
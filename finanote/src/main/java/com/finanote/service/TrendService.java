@@ -0,0 +1,77 @@
+package com.finanote.service;
+
+import com.finanote.dto.TrendStats;
+import com.finanote.model.Category;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-month spending trends with year-over-year comparison, read from the monthly rollup.
+ */
+@Service
+public class TrendService {
+
+    private final MonthlySummaryService monthlySummaryService;
+    private final TrendsCache trendsCache;
+    private final int maxMonths;
+
+    public TrendService(MonthlySummaryService monthlySummaryService, TrendsCache trendsCache,
+                        @Value("${finanote.trends.max-months:120}") int maxMonths) {
+        this.monthlySummaryService = monthlySummaryService;
+        this.trendsCache = trendsCache;
+        this.maxMonths = maxMonths;
+    }
+
+    public TrendStats getTrends(Long userId, YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("'from' must not be after 'to'");
+        }
+        if (from.until(to, ChronoUnit.MONTHS) + 1 > maxMonths) {
+            throw new RuntimeException("Trend span must not exceed " + maxMonths + " months");
+        }
+        return trendsCache.get(userId, from, to, () -> computeTrends(userId, from, to));
+    }
+
+    private TrendStats computeTrends(Long userId, YearMonth from, YearMonth to) {
+        // One grouped query covers the span plus the twelve months before it for the comparison
+        YearMonth queryFrom = from.minusYears(1);
+        MonthlyTotals totals = monthlySummaryService.getMonthlyTotals(userId, queryFrom, to);
+
+        int offset = totals.indexOf(from);
+        TrendStats.MonthTrend[] months = new TrendStats.MonthTrend[totals.months() - offset];
+        for (int i = 0; i < months.length; i++) {
+            months[i] = buildMonth(totals, queryFrom, offset + i);
+        }
+
+        Map<String, String> categoryColors = new LinkedHashMap<>();
+        for (Category category : Category.values()) {
+            categoryColors.put(category.getDisplayName(), category.getColor());
+        }
+        return new TrendStats(from, to, List.of(months), categoryColors);
+    }
+
+    private TrendStats.MonthTrend buildMonth(MonthlyTotals totals, YearMonth queryFrom, int index) {
+        int previousIndex = index - 12;
+        long total = totals.total(index);
+        long previousTotal = totals.total(previousIndex);
+
+        Category[] categories = Category.values();
+        long[] categoryCents = totals.categoryCents(index);
+        Map<String, Long> byCategory = new LinkedHashMap<>();
+        for (Category category : categories) {
+            if (categoryCents[category.ordinal()] != 0) {
+                byCategory.put(category.getDisplayName(), categoryCents[category.ordinal()]);
+            }
+        }
+
+        return new TrendStats.MonthTrend(queryFrom.plusMonths(index), total, totals.count(index), byCategory,
+                previousTotal, total - previousTotal,
+                previousTotal > 0 ? (total - previousTotal) * 100.0 / previousTotal : null);
+    }
+}
@@ -0,0 +1,65 @@
+package com.finanote.service;
+
+import com.finanote.cluster.ClusterEventBus;
+import com.finanote.cluster.ClusterMessage;
+import com.finanote.dto.TrendStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.function.Supplier;
+
+/**
+ * Size- and TTL-bounded cache of {@link TrendStats} per (user, span). An expense write drops
+ * every cached span of that user whose months, including the previous-year months used for
+ * comparison, cover a touched month.
+ */
+@Component
+public class TrendsCache implements MeterBinder {
+
+    private final Cache<Key, TrendStats> cache;
+    private final UserGenerations generations = new UserGenerations();
+
+    public TrendsCache(@Value("${finanote.trends-cache.max-size:10000}") long maxSize,
+                       @Value("${finanote.trends-cache.ttl:10m}") Duration ttl,
+                       ClusterEventBus clusterEventBus) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        clusterEventBus.subscribe(this::onClusterMessage);
+    }
+
+    public TrendStats get(Long userId, YearMonth from, YearMonth to, Supplier<TrendStats> loader) {
+        return generations.get(cache, new Key(userId, from, to), userId, loader);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "trends");
+    }
+
+    private void onClusterMessage(ClusterMessage message) {
+        if (message instanceof ClusterMessage.ExpensesChanged changed) {
+            generations.evictIf(cache, changed.userId(), key -> key.userId().equals(changed.userId())
+                    && changed.months().stream().anyMatch(key::covers));
+        }
+    }
+
+    private record Key(Long userId, YearMonth from, YearMonth to) {
+        boolean covers(YearMonth month) {
+            return !month.isBefore(from.minusYears(1)) && !month.isAfter(to);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.finanote.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Per-user generation counters for caches that drop a user's entries by scanning their keys.
+ * A scan does not see entries that are still loading, so a load that read the database before
+ * a commit could be stored after that commit's eviction ran. Eviction bumps the user's
+ * generation before scanning, and a load whose generation changed removes what it stored.
+ */
+final class UserGenerations {
+
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    <K, V> V get(Cache<K, V> cache, K key, Long userId, Supplier<V> loader) {
+        long generation = current(userId);
+        V value = cache.get(key, k -> loader.get());
+        // Either this sees the bump, or the bump came after the value was stored and the
+        // eviction's scan finds it
+        if (current(userId) != generation) {
+            cache.asMap().remove(key, value);
+        }
+        return value;
+    }
+
+    <K> void evictIf(Cache<K, ?> cache, Long userId, Predicate<K> predicate) {
+        generations.merge(userId, 1L, Long::sum);
+        cache.asMap().keySet().removeIf(predicate);
+    }
+
+    private long current(Long userId) {
+        return generations.getOrDefault(userId, 0L);
+    }
+}
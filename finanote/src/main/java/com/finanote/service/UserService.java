@@ -3,14 +3,22 @@ package com.finanote.service;
 import com.finanote.dto.AuthResponse;
 import com.finanote.dto.LoginRequest;
 import com.finanote.dto.RegisterRequest;
+import com.finanote.model.Category;
 import com.finanote.model.User;
+import com.finanote.repository.UserBudgets;
 import com.finanote.repository.UserRepository;
 import com.finanote.security.JwtTokenProvider;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class UserService {
@@ -19,13 +27,16 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
-                       JwtTokenProvider jwtTokenProvider, AuthenticationManager authenticationManager) {
+                       JwtTokenProvider jwtTokenProvider, AuthenticationManager authenticationManager,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtTokenProvider = jwtTokenProvider;
         this.authenticationManager = authenticationManager;
+        this.eventPublisher = eventPublisher;
     }
 
     public AuthResponse register(RegisterRequest request) {
@@ -37,10 +48,10 @@ public class UserService {
         user.setName(request.getName());
         user.setEmail(request.getEmail());
         user.setPassword(passwordEncoder.encode(request.getPassword()));
-        user.setMonthlyBudget(500.0); // Default budget for students
+        user.setMonthlyBudgetCents(50000); // Default budget for students
 
         User savedUser = userRepository.save(user);
-        String token = jwtTokenProvider.generateToken(savedUser.getEmail());
+        String token = jwtTokenProvider.generateToken(savedUser);
 
         return new AuthResponse(token, savedUser.getName(), savedUser.getEmail(), savedUser.getId());
     }
@@ -53,7 +64,7 @@ public class UserService {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        String token = jwtTokenProvider.generateToken(user.getEmail());
+        String token = jwtTokenProvider.generateToken(user);
         return new AuthResponse(token, user.getName(), user.getEmail(), user.getId());
     }
 
@@ -62,14 +73,58 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    /**
+     * Returns a lazy reference for associating rows with the user without loading it.
+     */
+    public User getUserReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
+    /**
+     * Monthly and per-category budgets in one query.
+     */
+    public UserBudgets getBudgets(Long id) {
+        return userRepository.findBudgetsById(id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
     public User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
-    public User updateBudget(Long userId, Double budget) {
+    @Transactional
+    public User updateBudget(Long userId, long budgetCents) {
         User user = getUserById(userId);
-        user.setMonthlyBudget(budget);
-        return userRepository.save(user);
+        user.setMonthlyBudgetCents(budgetCents);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(BudgetChangedEvent.monthly(userId));
+        return savedUser;
+    }
+
+    /**
+     * Replaces the category budgets; categories left out have no budget.
+     */
+    @Transactional
+    public User updateCategoryBudgets(Long userId, Map<Category, Long> budgetCents) {
+        long[] budgets = new long[Category.values().length];
+        budgetCents.forEach((category, cents) -> {
+            if (cents < 0) {
+                throw new RuntimeException("Budget must not be negative");
+            }
+            budgets[category.ordinal()] = cents;
+        });
+
+        User user = getUserById(userId);
+        Set<Category> changed = EnumSet.noneOf(Category.class);
+        for (Category category : Category.values()) {
+            if (user.getCategoryBudgetCents()[category.ordinal()] != budgets[category.ordinal()]) {
+                changed.add(category);
+            }
+        }
+        user.setCategoryBudgetCents(budgets);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(BudgetChangedEvent.categories(userId, changed));
+        return savedUser;
     }
 }
@@ -0,0 +1,25 @@
+-- Schema as created by the application before migrations were introduced. Existing
+-- databases are baselined at this version.
+CREATE TABLE users (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name           VARCHAR(100) NOT NULL,
+    email          VARCHAR(255) NOT NULL,
+    password       VARCHAR(255) NOT NULL,
+    monthly_budget DOUBLE PRECISION,
+    created_at     TIMESTAMP(6),
+    updated_at     TIMESTAMP(6),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE expenses (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    description  VARCHAR(255) NOT NULL,
+    amount       DOUBLE PRECISION NOT NULL,
+    category     VARCHAR(255) NOT NULL,
+    expense_date DATE NOT NULL,
+    notes        VARCHAR(255),
+    user_id      BIGINT NOT NULL,
+    created_at   TIMESTAMP(6),
+    updated_at   TIMESTAMP(6),
+    CONSTRAINT fk_expenses_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,9 @@
+-- Older schemas may store the category as a native ENUM, which rejects new categories
+ALTER TABLE expenses ALTER COLUMN category SET DATA TYPE VARCHAR(255);
+
+CREATE INDEX IF NOT EXISTS idx_expenses_user_date ON expenses (user_id, expense_date);
+CREATE INDEX IF NOT EXISTS idx_expenses_user_category_date ON expenses (user_id, category, expense_date);
+
+-- Pooled ids (allocation size 50): the first value handed out must clear existing ids
+CREATE SEQUENCE IF NOT EXISTS expenses_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE expenses_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM expenses);
@@ -0,0 +1,18 @@
+CREATE TABLE monthly_summaries (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id           BIGINT NOT NULL,
+    summary_year      INTEGER NOT NULL,
+    summary_month     INTEGER NOT NULL,
+    category          VARCHAR(255) NOT NULL,
+    summary_day       INTEGER NOT NULL,
+    total             DOUBLE PRECISION NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    CONSTRAINT uk_monthly_summaries_bucket
+        UNIQUE (user_id, summary_year, summary_month, category, summary_day)
+);
+
+INSERT INTO monthly_summaries (user_id, summary_year, summary_month, category, summary_day, total, transaction_count)
+SELECT user_id, EXTRACT(YEAR FROM expense_date), EXTRACT(MONTH FROM expense_date), category,
+       EXTRACT(DAY FROM expense_date), SUM(amount), COUNT(*)
+FROM expenses
+GROUP BY user_id, expense_date, category;
@@ -0,0 +1,13 @@
+-- Money is stored as whole cents; values are rounded to the nearest cent
+ALTER TABLE expenses ADD COLUMN amount_cents BIGINT DEFAULT 0 NOT NULL;
+UPDATE expenses SET amount_cents = CAST(ROUND(amount * 100) AS BIGINT);
+ALTER TABLE expenses DROP COLUMN amount;
+
+ALTER TABLE users ADD COLUMN monthly_budget_cents BIGINT DEFAULT 0 NOT NULL;
+UPDATE users SET monthly_budget_cents = CAST(ROUND(monthly_budget * 100) AS BIGINT)
+WHERE monthly_budget IS NOT NULL;
+ALTER TABLE users DROP COLUMN monthly_budget;
+
+ALTER TABLE monthly_summaries ADD COLUMN total_cents BIGINT DEFAULT 0 NOT NULL;
+UPDATE monthly_summaries SET total_cents = CAST(ROUND(total * 100) AS BIGINT);
+ALTER TABLE monthly_summaries DROP COLUMN total;
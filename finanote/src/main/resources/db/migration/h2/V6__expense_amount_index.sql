@@ -0,0 +1,2 @@
+-- Keyset order of the filtered listing when sorted by amount
+CREATE INDEX idx_expenses_user_amount ON expenses (user_id, amount_cents);
@@ -0,0 +1,5 @@
+-- Lower-cased description so the filtered listing's prefix match can range-scan an index
+ALTER TABLE expenses ADD COLUMN description_lower VARCHAR(255);
+UPDATE expenses SET description_lower = LOWER(description);
+ALTER TABLE expenses ALTER COLUMN description_lower SET NOT NULL;
+CREATE INDEX idx_expenses_user_description ON expenses (user_id, description_lower);
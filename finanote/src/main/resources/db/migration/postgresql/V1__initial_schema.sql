@@ -0,0 +1,43 @@
+-- PostgreSQL databases start at the current schema. Versions 2-4 exist only to upgrade
+-- legacy embedded H2 databases, so the next migration is V5 for every vendor.
+CREATE TABLE users (
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name                 VARCHAR(100) NOT NULL,
+    email                VARCHAR(255) NOT NULL,
+    password             VARCHAR(255) NOT NULL,
+    monthly_budget_cents BIGINT DEFAULT 0 NOT NULL,
+    created_at           TIMESTAMP(6),
+    updated_at           TIMESTAMP(6),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE SEQUENCE expenses_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE expenses (
+    id           BIGINT PRIMARY KEY,
+    description  VARCHAR(255) NOT NULL,
+    amount_cents BIGINT DEFAULT 0 NOT NULL,
+    category     VARCHAR(255) NOT NULL,
+    expense_date DATE NOT NULL,
+    notes        VARCHAR(255),
+    user_id      BIGINT NOT NULL,
+    created_at   TIMESTAMP(6),
+    updated_at   TIMESTAMP(6),
+    CONSTRAINT fk_expenses_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_expenses_user_date ON expenses (user_id, expense_date);
+CREATE INDEX idx_expenses_user_category_date ON expenses (user_id, category, expense_date);
+
+CREATE TABLE monthly_summaries (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id           BIGINT NOT NULL,
+    summary_year      INTEGER NOT NULL,
+    summary_month     INTEGER NOT NULL,
+    category          VARCHAR(255) NOT NULL,
+    summary_day       INTEGER NOT NULL,
+    total_cents       BIGINT DEFAULT 0 NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    CONSTRAINT uk_monthly_summaries_bucket
+        UNIQUE (user_id, summary_year, summary_month, category, summary_day)
+);
@@ -0,0 +1,6 @@
+CREATE TABLE revoked_tokens (
+    token_id   VARCHAR(64) PRIMARY KEY,
+    expires_at BIGINT NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,38 @@
+CREATE TABLE month_totals (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id            BIGINT NOT NULL,
+    total_year         INTEGER NOT NULL,
+    total_month        INTEGER NOT NULL,
+    total_cents        BIGINT DEFAULT 0 NOT NULL,
+    alerted_thresholds INTEGER DEFAULT 0 NOT NULL,
+    CONSTRAINT uk_month_totals_month UNIQUE (user_id, total_year, total_month)
+);
+
+-- Existing months start with the default 50/80/100% thresholds marked as reported where they
+-- are already reached, so only new crossings raise alerts
+INSERT INTO month_totals (user_id, total_year, total_month, total_cents, alerted_thresholds)
+SELECT t.user_id, t.total_year, t.total_month, t.total_cents,
+       CASE WHEN u.monthly_budget_cents > 0 AND t.total_cents * 100 >= u.monthly_budget_cents * 50 THEN 1 ELSE 0 END
+     + CASE WHEN u.monthly_budget_cents > 0 AND t.total_cents * 100 >= u.monthly_budget_cents * 80 THEN 2 ELSE 0 END
+     + CASE WHEN u.monthly_budget_cents > 0 AND t.total_cents * 100 >= u.monthly_budget_cents * 100 THEN 4 ELSE 0 END
+FROM (SELECT user_id, CAST(EXTRACT(YEAR FROM expense_date) AS INTEGER) AS total_year,
+             CAST(EXTRACT(MONTH FROM expense_date) AS INTEGER) AS total_month,
+             SUM(amount_cents) AS total_cents
+      FROM expenses
+      GROUP BY user_id, CAST(EXTRACT(YEAR FROM expense_date) AS INTEGER),
+               CAST(EXTRACT(MONTH FROM expense_date) AS INTEGER)) t
+JOIN users u ON u.id = t.user_id;
+
+CREATE TABLE budget_alerts (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id           BIGINT NOT NULL,
+    alert_year        INTEGER NOT NULL,
+    alert_month       INTEGER NOT NULL,
+    threshold_percent INTEGER NOT NULL,
+    total_cents       BIGINT NOT NULL,
+    budget_cents      BIGINT NOT NULL,
+    created_at        TIMESTAMP(6) NOT NULL,
+    dispatched_at     TIMESTAMP(6)
+);
+
+CREATE INDEX idx_budget_alerts_dispatched_at ON budget_alerts (dispatched_at);
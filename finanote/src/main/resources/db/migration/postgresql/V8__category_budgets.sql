@@ -0,0 +1,23 @@
+-- NAME=cents pairs, see CategoryAmountsConverter
+ALTER TABLE users ADD COLUMN category_budget_cents VARCHAR(1000);
+
+ALTER TABLE budget_alerts ADD COLUMN category VARCHAR(255);
+
+CREATE TABLE category_month_totals (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id            BIGINT NOT NULL,
+    total_year         INTEGER NOT NULL,
+    total_month        INTEGER NOT NULL,
+    category           VARCHAR(255) NOT NULL,
+    total_cents        BIGINT DEFAULT 0 NOT NULL,
+    alerted_thresholds INTEGER DEFAULT 0 NOT NULL,
+    CONSTRAINT uk_category_month_totals_month UNIQUE (user_id, total_year, total_month, category)
+);
+
+-- No category budgets exist yet, so no thresholds are marked as reported
+INSERT INTO category_month_totals (user_id, total_year, total_month, category, total_cents, alerted_thresholds)
+SELECT user_id, CAST(EXTRACT(YEAR FROM expense_date) AS INTEGER), CAST(EXTRACT(MONTH FROM expense_date) AS INTEGER),
+       category, SUM(amount_cents), 0
+FROM expenses
+GROUP BY user_id, CAST(EXTRACT(YEAR FROM expense_date) AS INTEGER), CAST(EXTRACT(MONTH FROM expense_date) AS INTEGER),
+         category;
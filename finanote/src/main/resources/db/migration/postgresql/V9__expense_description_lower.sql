@@ -0,0 +1,7 @@
+-- Lower-cased description so the filtered listing's prefix match can range-scan an index.
+-- LIKE 'prefix%' only uses a btree index under the C collation or a pattern operator class;
+-- ${pattern_ops} is varchar_pattern_ops on PostgreSQL and empty on the H2 stand-in.
+ALTER TABLE expenses ADD COLUMN description_lower VARCHAR(255);
+UPDATE expenses SET description_lower = LOWER(description);
+ALTER TABLE expenses ALTER COLUMN description_lower SET NOT NULL;
+CREATE INDEX idx_expenses_user_description ON expenses (user_id, description_lower ${pattern_ops});
@@ -606,6 +606,8 @@ async function exportToPDF() {
 }
 
 function logout() {
+    // Revoke the token server-side; the local session is cleared either way
+    fetch(`${API_BASE}/auth/logout`, { method: 'POST', headers, keepalive: true }).catch(() => {});
     localStorage.removeItem('token');
     localStorage.removeItem('userName');
     localStorage.removeItem('userId');
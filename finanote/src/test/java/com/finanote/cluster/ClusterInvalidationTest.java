@@ -0,0 +1,127 @@
+package com.finanote.cluster;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.finanote.FinanoteApplication;
+import com.finanote.service.DashboardCache;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Two nodes sharing one database and one {@link LocalBroker}: state one node changes must stop
+ * being served from the other node's caches.
+ */
+class ClusterInvalidationTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 14);
+    private static final Duration DELIVERY = Duration.ofSeconds(5);
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    private final TestRestTemplate rest = new TestRestTemplate();
+
+    @BeforeAll
+    static void startNodes() {
+        String broker = "cluster-test-" + UUID.randomUUID();
+        nodeA = startNode(broker, "node-a");
+        nodeB = startNode(broker, "node-b");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    @Test
+    void tokenRevokedOnOneNodeIsRejectedOnTheOther() {
+        String authorization = register();
+        assertThat(exchange(nodeB, HttpMethod.GET, "/api/expenses", authorization, null)
+                .getStatusCode().is2xxSuccessful()).isTrue();
+
+        exchange(nodeA, HttpMethod.POST, "/api/auth/logout", authorization, null);
+
+        // Node B verified the token above and answers it from its verified-token cache
+        await().atMost(DELIVERY).untilAsserted(() ->
+                assertThat(exchange(nodeB, HttpMethod.GET, "/api/expenses", authorization, null)
+                        .getStatusCode().is4xxClientError()).isTrue());
+    }
+
+    @Test
+    void expenseWrittenOnOneNodeEvictsTheOthersDashboard() {
+        String authorization = register();
+        addExpense(nodeA, authorization, "12.50");
+        assertThat(dashboardTotal(nodeB, authorization)).isEqualByComparingTo("12.50");
+        long invalidations = nodeB.getBean(DashboardCache.class).invalidationCount();
+
+        addExpense(nodeA, authorization, "7.50");
+
+        await().atMost(DELIVERY).untilAsserted(() ->
+                assertThat(nodeB.getBean(DashboardCache.class).invalidationCount()).isGreaterThan(invalidations));
+        assertThat(dashboardTotal(nodeB, authorization)).isEqualByComparingTo("20.00");
+    }
+
+    private static ConfigurableApplicationContext startNode(String broker, String nodeId) {
+        return new SpringApplicationBuilder(FinanoteApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:" + broker + ";DB_CLOSE_DELAY=-1",
+                        "finanote.cluster.bus=local-broker",
+                        "finanote.cluster.broker-name=" + broker,
+                        "finanote.cluster.node-id=" + nodeId)
+                .run();
+    }
+
+    private String register() {
+        String email = "cluster-" + UUID.randomUUID() + "@finanote.local";
+        ResponseEntity<JsonNode> response = exchange(nodeA, HttpMethod.POST, "/api/auth/register", null,
+                Map.of("name", "Cluster User", "email", email, "password", "secret123"));
+        return "Bearer " + response.getBody().get("token").asText();
+    }
+
+    private void addExpense(ConfigurableApplicationContext node, String authorization, String amount) {
+        ResponseEntity<JsonNode> response = exchange(node, HttpMethod.POST, "/api/expenses", authorization, Map.of(
+                "description", "Groceries",
+                "amount", amount,
+                "category", "FOOD",
+                "expenseDate", DATE.toString()));
+        assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+    }
+
+    private BigDecimal dashboardTotal(ConfigurableApplicationContext node, String authorization) {
+        String path = "/api/expenses/dashboard?year=" + DATE.getYear() + "&month=" + DATE.getMonthValue();
+        return exchange(node, HttpMethod.GET, path, authorization, null).getBody().get("totalExpenses").decimalValue();
+    }
+
+    private ResponseEntity<JsonNode> exchange(ConfigurableApplicationContext node, HttpMethod method, String path,
+                                              String authorization, Object body) {
+        HttpHeaders headers = new HttpHeaders();
+        if (authorization != null) {
+            headers.set(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        String url = "http://localhost:" + node.getEnvironment().getProperty("local.server.port") + path;
+        return rest.exchange(url, method, new HttpEntity<>(body, headers), JsonNode.class);
+    }
+}
@@ -0,0 +1,61 @@
+package com.finanote.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Test-support assertions on SQL statement counts. Endpoint checks read what
+ * {@link RequestMetricsFilter} recorded on the request, e.g. with MockMvc:
+ * <pre>
+ * MvcResult result = mockMvc.perform(get("/api/expenses/dashboard")...).andReturn();
+ * QueryBudgetAssertions.assertWithinBudget(result.getRequest());
+ * QueryBudgetAssertions.assertQueryCount(result.getRequest(), 2);
+ * </pre>
+ * Service-level checks wrap the call with {@link #assertMaxQueries(int, Supplier)}.
+ */
+public final class QueryBudgetAssertions {
+
+    private QueryBudgetAssertions() {
+    }
+
+    public static long queryCount(HttpServletRequest request) {
+        Object count = request.getAttribute(RequestMetricsFilter.STATEMENTS_ATTRIBUTE);
+        if (count == null) {
+            throw new AssertionError("No statement count recorded; is RequestMetricsFilter in the filter chain?");
+        }
+        return (Long) count;
+    }
+
+    public static void assertQueryCount(HttpServletRequest request, long expected) {
+        long actual = queryCount(request);
+        if (actual != expected) {
+            throw new AssertionError(describe(request) + " issued " + actual + " SQL statements, expected " + expected);
+        }
+    }
+
+    public static void assertWithinBudget(HttpServletRequest request) {
+        Object budget = request.getAttribute(QueryBudgetInterceptor.BUDGET_ATTRIBUTE);
+        if (budget == null) {
+            throw new AssertionError(describe(request) + " has no @QueryBudget");
+        }
+        long actual = queryCount(request);
+        if (actual > (Integer) budget) {
+            throw new AssertionError(describe(request) + " issued " + actual + " SQL statements, budget is " + budget);
+        }
+    }
+
+    public static <T> T assertMaxQueries(int max, Supplier<T> action) {
+        long start = StatementCounter.current();
+        T result = action.get();
+        long actual = StatementCounter.current() - start;
+        if (actual > max) {
+            throw new AssertionError("Issued " + actual + " SQL statements, expected at most " + max);
+        }
+        return result;
+    }
+
+    private static String describe(HttpServletRequest request) {
+        return request.getMethod() + " " + request.getRequestURI();
+    }
+}
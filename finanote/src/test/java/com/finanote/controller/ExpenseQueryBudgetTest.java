@@ -0,0 +1,195 @@
+package com.finanote.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finanote.config.QueryBudget;
+import com.finanote.config.QueryBudgetAssertions;
+import com.finanote.repository.UserRepository;
+import com.finanote.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the read endpoints of a freshly registered user through the full filter chain and
+ * checks the SQL statements each request issued against its {@link QueryBudget}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(ExpenseQueryBudgetTest.OverBudgetConfig.class)
+class ExpenseQueryBudgetTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 14);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String authorization;
+    private long expenseId;
+
+    @BeforeEach
+    void registerUserWithExpenses() throws Exception {
+        String email = "budget-" + UUID.randomUUID() + "@finanote.local";
+        JsonNode auth = postJson("/api/auth/register",
+                Map.of("name", "Budget User", "email", email, "password", "secret123"), null);
+        authorization = "Bearer " + auth.get("token").asText();
+
+        for (int i = 0; i < 5; i++) {
+            JsonNode expense = postJson("/api/expenses", Map.of(
+                    "description", "Groceries " + i,
+                    "amount", "12.50",
+                    "category", "FOOD",
+                    "expenseDate", DATE.minusDays(i).toString()), authorization);
+            expenseId = expense.get("id").asLong();
+        }
+    }
+
+    @Test
+    void dashboardStaysWithinBudget() throws Exception {
+        MvcResult result = perform(get("/api/expenses/dashboard")
+                .param("year", String.valueOf(DATE.getYear()))
+                .param("month", String.valueOf(DATE.getMonthValue())));
+
+        QueryBudgetAssertions.assertWithinBudget(result.getRequest());
+        QueryBudgetAssertions.assertQueryCount(result.getRequest(), 2);
+    }
+
+    @Test
+    void listStaysWithinBudget() throws Exception {
+        MvcResult result = perform(get("/api/expenses"));
+
+        QueryBudgetAssertions.assertWithinBudget(result.getRequest());
+        QueryBudgetAssertions.assertQueryCount(result.getRequest(), 1);
+    }
+
+    @Test
+    void monthStaysWithinBudget() throws Exception {
+        MvcResult result = perform(get("/api/expenses/month")
+                .param("year", String.valueOf(DATE.getYear()))
+                .param("month", String.valueOf(DATE.getMonthValue())));
+
+        QueryBudgetAssertions.assertWithinBudget(result.getRequest());
+        QueryBudgetAssertions.assertQueryCount(result.getRequest(), 1);
+    }
+
+    @Test
+    void singleExpenseStaysWithinBudget() throws Exception {
+        MvcResult result = perform(get("/api/expenses/{id}", expenseId));
+
+        QueryBudgetAssertions.assertWithinBudget(result.getRequest());
+        QueryBudgetAssertions.assertQueryCount(result.getRequest(), 1);
+    }
+
+    @Test
+    void updateStaysWithinBudget() throws Exception {
+        MvcResult result = perform(put("/api/expenses/{id}", expenseId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of(
+                        "description", "Moved",
+                        "amount", "40.00",
+                        "category", "TRANSPORT",
+                        "expenseDate", DATE.plusMonths(1).toString()))));
+
+        QueryBudgetAssertions.assertWithinBudget(result.getRequest());
+    }
+
+    @Test
+    void deleteStaysWithinBudget() throws Exception {
+        MvcResult result = perform(delete("/api/expenses/{id}", expenseId));
+
+        QueryBudgetAssertions.assertWithinBudget(result.getRequest());
+        QueryBudgetAssertions.assertQueryCount(result.getRequest(), 6);
+    }
+
+    @Test
+    void searchStaysWithinBudgetWhileTheIndexIsBuilt() throws Exception {
+        MvcResult cold = perform(get("/api/expenses/search").param("q", "groceries"));
+        QueryBudgetAssertions.assertWithinBudget(cold.getRequest());
+        QueryBudgetAssertions.assertQueryCount(cold.getRequest(), 2);
+
+        MvcResult warm = perform(get("/api/expenses/search").param("q", "groceries"));
+        QueryBudgetAssertions.assertWithinBudget(warm.getRequest());
+        QueryBudgetAssertions.assertQueryCount(warm.getRequest(), 1);
+    }
+
+    @Test
+    void handlerOverItsBudgetFailsTheAssertion() throws Exception {
+        MvcResult result = perform(get("/test/over-budget"));
+
+        assertThatThrownBy(() -> QueryBudgetAssertions.assertWithinBudget(result.getRequest()))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("budget is 1");
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.header("Authorization", authorization))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private JsonNode postJson(String path, Object body, String authorization) throws Exception {
+        MockHttpServletRequestBuilder request = post(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body));
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+        MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    @TestConfiguration
+    static class OverBudgetConfig {
+
+        @Bean
+        OverBudgetController overBudgetController(UserRepository userRepository) {
+            return new OverBudgetController(userRepository);
+        }
+    }
+
+    @RestController
+    static class OverBudgetController {
+
+        private final UserRepository userRepository;
+
+        OverBudgetController(UserRepository userRepository) {
+            this.userRepository = userRepository;
+        }
+
+        @GetMapping("/test/over-budget")
+        @QueryBudget(1)
+        String overBudget(@AuthenticationPrincipal AuthenticatedUser user) {
+            userRepository.findBudgetsById(user.id());
+            userRepository.findBudgetsById(user.id());
+            return "ok";
+        }
+    }
+}
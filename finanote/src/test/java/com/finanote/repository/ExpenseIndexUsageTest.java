@@ -0,0 +1,89 @@
+package com.finanote.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds a million expenses and checks that the month lookups range-scan the
+ * (user_id, expense_date) index rather than the table.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:finanote-index-usage;DB_CLOSE_DELAY=-1")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExpenseIndexUsageTest {
+
+    private static final int USERS = 100;
+    private static final int EXPENSES = 1_000_000;
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    private long userId;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (name, email, password, monthly_budget_cents) " +
+                "SELECT 'User ' || X, 'index-' || X || '@finanote.local', 'not-used', 50000 " +
+                "FROM SYSTEM_RANGE(1, " + USERS + ")");
+        userId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users WHERE email LIKE 'index-%'", Long.class);
+
+        // Every user gets EXPENSES / USERS rows spread over three years
+        jdbcTemplate.update("INSERT INTO expenses (id, description, description_lower, amount_cents, category, " +
+                "expense_date, user_id) SELECT X, 'Expense ' || X, 'expense ' || X, 100 + MOD(X, 5000), 'FOOD', " +
+                "DATEADD('DAY', -MOD(X / " + USERS + ", 1095), DATE '" + START + "'), " +
+                userId + " + MOD(X, " + USERS + ") " +
+                "FROM SYSTEM_RANGE(1, " + EXPENSES + ")");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void monthRangeQueryUsesUserDateIndex() {
+        String plan = explain("SELECT e.id, e.description, e.amount_cents, e.category, e.expense_date, e.notes " +
+                "FROM expenses e WHERE e.user_id = " + userId + " AND e.expense_date >= DATE '2025-06-01' " +
+                "AND e.expense_date < DATE '2025-07-01' ORDER BY e.expense_date DESC");
+
+        assertThat(plan).contains("idx_expenses_user_date");
+        assertThat(plan).doesNotContain("tablescan");
+    }
+
+    @Test
+    void categoryMonthQueryUsesAnIndexOnUser() {
+        String plan = explain("SELECT e.id FROM expenses e WHERE e.user_id = " + userId +
+                " AND e.category = 'FOOD' AND e.expense_date >= DATE '2025-06-01' " +
+                "AND e.expense_date < DATE '2025-07-01'");
+
+        assertThat(plan).containsAnyOf("idx_expenses_user_category_date", "idx_expenses_user_date");
+        assertThat(plan).doesNotContain("tablescan");
+    }
+
+    @Test
+    void monthQueryReturnsOnlyThatMonth() {
+        List<?> june = expenseRepository.findByUserIdAndMonth(userId, 2025, 6);
+
+        Integer expected = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM expenses WHERE user_id = ? " +
+                "AND expense_date BETWEEN DATE '2025-06-01' AND DATE '2025-06-30'", Integer.class, userId);
+        assertThat(june).hasSize(expected);
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class))
+                .toLowerCase(Locale.ROOT);
+    }
+}
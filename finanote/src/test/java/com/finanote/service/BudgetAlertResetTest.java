@@ -0,0 +1,105 @@
+package com.finanote.service;
+
+import com.finanote.model.Category;
+import com.finanote.model.Expense;
+import com.finanote.model.User;
+import com.finanote.repository.CategoryMonthTotalRepository;
+import com.finanote.repository.MonthTotalRepository;
+import com.finanote.repository.MonthTotalState;
+import com.finanote.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A budget change starts only that budget's thresholds afresh; the 50% and 80% thresholds
+ * (bits 1 and 2) reached below are otherwise kept.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BudgetAlertResetTest {
+
+    private static final int REACHED_50_AND_80 = 0b011;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BudgetAlertService budgetAlertService;
+
+    @Autowired
+    private MonthTotalRepository monthTotalRepository;
+
+    @Autowired
+    private CategoryMonthTotalRepository categoryMonthTotalRepository;
+
+    private final LocalDate today = LocalDate.now();
+    private Long userId;
+
+    @BeforeEach
+    void spendNinetyPercentOfEveryBudget() {
+        User user = new User();
+        user.setName("Alert User");
+        user.setEmail("alerts-" + UUID.randomUUID() + "@finanote.local");
+        user.setPassword("not-used");
+        userId = userRepository.save(user).getId();
+        userService.updateBudget(userId, 2000);
+        userService.updateCategoryBudgets(userId, Map.of(Category.FOOD, 1000L, Category.TRANSPORT, 1000L));
+
+        record(Category.FOOD, 900);
+        record(Category.TRANSPORT, 900);
+        assertThat(monthBits()).isEqualTo(REACHED_50_AND_80);
+        assertThat(categoryBits(Category.FOOD)).isEqualTo(REACHED_50_AND_80);
+        assertThat(categoryBits(Category.TRANSPORT)).isEqualTo(REACHED_50_AND_80);
+    }
+
+    @Test
+    void monthlyBudgetChangeResetsOnlyMonthlyThresholds() {
+        userService.updateBudget(userId, 3000);
+
+        assertThat(monthBits()).isZero();
+        assertThat(categoryBits(Category.FOOD)).isEqualTo(REACHED_50_AND_80);
+        assertThat(categoryBits(Category.TRANSPORT)).isEqualTo(REACHED_50_AND_80);
+    }
+
+    @Test
+    void categoryBudgetChangeResetsOnlyChangedCategories() {
+        userService.updateCategoryBudgets(userId, Map.of(Category.FOOD, 1500L, Category.TRANSPORT, 1000L));
+
+        assertThat(monthBits()).isEqualTo(REACHED_50_AND_80);
+        assertThat(categoryBits(Category.FOOD)).isZero();
+        assertThat(categoryBits(Category.TRANSPORT)).isEqualTo(REACHED_50_AND_80);
+    }
+
+    private void record(Category category, long amountCents) {
+        Expense expense = new Expense();
+        expense.setDescription("Expense");
+        expense.setAmountCents(amountCents);
+        expense.setCategory(category);
+        expense.setExpenseDate(today);
+        budgetAlertService.recordCreated(userId, expense);
+    }
+
+    private int monthBits() {
+        return monthTotalRepository.findState(userId, today.getYear(), today.getMonthValue())
+                .map(MonthTotalState::alertedThresholds)
+                .orElseThrow();
+    }
+
+    private int categoryBits(Category category) {
+        return categoryMonthTotalRepository.findState(userId, today.getYear(), today.getMonthValue(), category)
+                .map(MonthTotalState::alertedThresholds)
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,57 @@
+package com.finanote.service;
+
+import com.finanote.cluster.ClusterMessage;
+import com.finanote.cluster.InMemoryClusterEventBus;
+import com.finanote.dto.DashboardStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A budget change evicts every month of the user, including one whose load is still running;
+ * that load's result must not outlive the eviction.
+ */
+class DashboardCacheTest {
+
+    private final InMemoryClusterEventBus bus = new InMemoryClusterEventBus();
+    private final DashboardCache cache = new DashboardCache(100, Duration.ofMinutes(10), bus);
+
+    @Test
+    void loadOverlappingUserEvictionIsNotKept() {
+        AtomicInteger loads = new AtomicInteger();
+
+        DashboardStats stale = cache.get(1L, 2024, 5, () -> {
+            loads.incrementAndGet();
+            // The budget commit lands after this load read the old budget
+            bus.publish(new ClusterMessage.BudgetChanged(1L));
+            return stats(100);
+        });
+        DashboardStats fresh = cache.get(1L, 2024, 5, () -> {
+            loads.incrementAndGet();
+            return stats(200);
+        });
+
+        assertThat(stale.getMonthlyBudget()).isEqualTo(100);
+        assertThat(fresh.getMonthlyBudget()).isEqualTo(200);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void loadAfterUserEvictionIsKept() {
+        bus.publish(new ClusterMessage.BudgetChanged(1L));
+        cache.get(1L, 2024, 5, () -> stats(100));
+
+        DashboardStats cached = cache.get(1L, 2024, 5, () -> stats(200));
+
+        assertThat(cached.getMonthlyBudget()).isEqualTo(100);
+    }
+
+    private static DashboardStats stats(long monthlyBudget) {
+        DashboardStats stats = new DashboardStats();
+        stats.setMonthlyBudget(monthlyBudget);
+        return stats;
+    }
+}
@@ -0,0 +1,138 @@
+package com.finanote.service;
+
+import com.finanote.dto.ExpenseRequest;
+import com.finanote.model.Category;
+import com.finanote.model.User;
+import com.finanote.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent updates and deletes of one expense must each derive their rollup and running-total
+ * deltas from the values the previous write left, so nothing drifts from the expenses table.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties =
+        "spring.datasource.url=jdbc:h2:mem:finanote-concurrent-writes;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+class ExpenseConcurrentWriteTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 4, 10);
+    private static final Category[] CATEGORIES = {Category.FOOD, Category.TRANSPORT, Category.SHOPPING};
+    private static final int WRITERS = 8;
+    private static final int UPDATES_PER_WRITER = 20;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private BudgetAlertService budgetAlertService;
+
+    private Long userId;
+
+    @BeforeEach
+    void createUser() {
+        User user = new User();
+        user.setName("Concurrent User");
+        user.setEmail("concurrent-" + UUID.randomUUID() + "@finanote.local");
+        user.setPassword("not-used");
+        userId = userRepository.save(user).getId();
+    }
+
+    @Test
+    void concurrentUpdatesKeepRollupAndTotalsExact() throws Exception {
+        Long expenseId = expenseService.createExpense(userId, request(1000, DATE, Category.FOOD)).getId();
+
+        runConcurrently(writer -> {
+            Random random = new Random(writer);
+            for (int i = 0; i < UPDATES_PER_WRITER; i++) {
+                expenseService.updateExpense(userId, expenseId, request(100 + random.nextInt(5000),
+                        DATE.plusDays(random.nextInt(40)), CATEGORIES[random.nextInt(CATEGORIES.length)]));
+            }
+        });
+
+        assertThat(monthlySummaryService.verify(userId)).isZero();
+        assertThat(budgetAlertService.reconcileTotals(userId)).isZero();
+    }
+
+    @Test
+    void updatesRacingADeleteKeepRollupAndTotalsExact() throws Exception {
+        Long expenseId = expenseService.createExpense(userId, request(1000, DATE, Category.FOOD)).getId();
+
+        runConcurrently(writer -> {
+            Random random = new Random(writer);
+            for (int i = 0; i < UPDATES_PER_WRITER; i++) {
+                try {
+                    if (writer == 0 && i == UPDATES_PER_WRITER / 2) {
+                        expenseService.deleteExpense(userId, expenseId);
+                    } else {
+                        expenseService.updateExpense(userId, expenseId, request(100 + random.nextInt(5000),
+                                DATE.plusDays(random.nextInt(40)), CATEGORIES[random.nextInt(CATEGORIES.length)]));
+                    }
+                } catch (RuntimeException e) {
+                    if (!"Expense not found".equals(e.getMessage())) {
+                        throw e;
+                    }
+                }
+            }
+        });
+
+        assertThat(monthlySummaryService.verify(userId)).isZero();
+        assertThat(budgetAlertService.reconcileTotals(userId)).isZero();
+    }
+
+    private void runConcurrently(Writer writer) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> writers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(WRITERS)) {
+            for (int w = 0; w < WRITERS; w++) {
+                int index = w;
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    writer.write(index);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : writers) {
+                future.get();
+            }
+        }
+    }
+
+    private static ExpenseRequest request(long amountCents, LocalDate date, Category category) {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setDescription("Concurrent expense");
+        request.setAmountCents(amountCents);
+        request.setCategory(category);
+        request.setExpenseDate(date);
+        return request;
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(int writer);
+    }
+}
@@ -0,0 +1,35 @@
+package com.finanote.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * The postgres profile against a real PostgreSQL server, so the {@code ON CONFLICT} upserts run.
+ * Skipped when no Docker daemon is available.
+ */
+@SpringBootTest
+@ActiveProfiles("postgres")
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresDeltaWriteTest extends RunningTotalsScenarios {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("finanote.rollup.reconcile-on-startup", () -> "false");
+    }
+
+    @Override
+    DeltaWrite expectedDeltaWrite() {
+        return DeltaWrite.POSTGRESQL_UPSERT;
+    }
+}
@@ -0,0 +1,19 @@
+package com.finanote.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * The postgres-h2 stand-in: the PostgreSQL migrations on H2 in PostgreSQL mode. H2 has no
+ * {@code ON CONFLICT ... DO UPDATE}, so deltas go through its MERGE; the upserts themselves
+ * are covered by {@link PostgresDeltaWriteTest}.
+ */
+@SpringBootTest
+@ActiveProfiles("postgres-h2")
+class PostgresStandInTest extends RunningTotalsScenarios {
+
+    @Override
+    DeltaWrite expectedDeltaWrite() {
+        return DeltaWrite.H2_MERGE;
+    }
+}
@@ -0,0 +1,183 @@
+package com.finanote.service;
+
+import com.finanote.model.Category;
+import com.finanote.model.Expense;
+import com.finanote.model.MonthlySummary;
+import com.finanote.model.User;
+import com.finanote.repository.CategoryMonthTotalRepository;
+import com.finanote.repository.MonthTotalRepository;
+import com.finanote.repository.MonthTotalState;
+import com.finanote.repository.MonthlySummaryRepository;
+import com.finanote.repository.UserRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Running-total writes (dashboard rollup, month and category totals) checked against a real
+ * schema migrated by Flyway. Subclasses pick the database and the {@link DeltaWrite} it must
+ * select, so every native delta statement runs on the database it was written for.
+ */
+abstract class RunningTotalsScenarios {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 5, 12);
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private BudgetAlertService budgetAlertService;
+
+    @Autowired
+    private MonthlySummaryRepository summaryRepository;
+
+    @Autowired
+    private MonthTotalRepository monthTotalRepository;
+
+    @Autowired
+    private CategoryMonthTotalRepository categoryMonthTotalRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${spring.datasource.url}")
+    private String datasourceUrl;
+
+    private Long userId;
+
+    abstract DeltaWrite expectedDeltaWrite();
+
+    @BeforeEach
+    void createUser() {
+        User user = new User();
+        user.setName("Totals User");
+        user.setEmail("totals-" + UUID.randomUUID() + "@finanote.local");
+        user.setPassword("not-used");
+        userId = userRepository.save(user).getId();
+    }
+
+    @Test
+    void migrationsAreFullyApplied() {
+        assertThat(flyway.info().current()).isNotNull();
+        assertThat(flyway.info().pending()).isEmpty();
+    }
+
+    @Test
+    void selectsExpectedDeltaWrite() {
+        assertThat(DeltaWrite.forJdbcUrl(datasourceUrl)).isEqualTo(expectedDeltaWrite());
+    }
+
+    @Test
+    void additionsCreateThenIncrementBuckets() {
+        record(expense(DATE, Category.FOOD, 1250));
+        record(expense(DATE, Category.FOOD, 750));
+        record(expense(DATE.plusDays(1), Category.TRANSPORT, 300));
+
+        assertThat(summary(DATE, Category.FOOD)).extracting(MonthlySummary::getTotalCents,
+                MonthlySummary::getTransactionCount).containsExactly(2000L, 2L);
+        assertThat(summary(DATE.plusDays(1), Category.TRANSPORT).getTotalCents()).isEqualTo(300);
+        assertThat(monthTotal()).isEqualTo(2300);
+        assertThat(categoryTotal(Category.FOOD)).isEqualTo(2000);
+        assertThat(categoryTotal(Category.TRANSPORT)).isEqualTo(300);
+    }
+
+    @Test
+    void batchAdditionsFoldIntoOneDeltaPerBucket() {
+        List<Expense> batch = List.of(
+                expense(DATE, Category.FOOD, 100),
+                expense(DATE, Category.FOOD, 200),
+                expense(DATE.minusMonths(1), Category.SHOPPING, 400));
+        monthlySummaryService.recordCreatedAll(userId, batch);
+        budgetAlertService.recordCreatedAll(userId, batch);
+        monthlySummaryService.recordCreatedAll(userId, batch);
+        budgetAlertService.recordCreatedAll(userId, batch);
+
+        assertThat(summary(DATE, Category.FOOD)).extracting(MonthlySummary::getTotalCents,
+                MonthlySummary::getTransactionCount).containsExactly(600L, 4L);
+        assertThat(summary(DATE.minusMonths(1), Category.SHOPPING).getTotalCents()).isEqualTo(800);
+        assertThat(monthTotal()).isEqualTo(600);
+        assertThat(categoryTotal(Category.FOOD)).isEqualTo(600);
+    }
+
+    @Test
+    void removalsDecrementAndDropEmptyBuckets() {
+        Expense first = expense(DATE, Category.FOOD, 1250);
+        Expense second = expense(DATE, Category.FOOD, 750);
+        record(first);
+        record(second);
+
+        monthlySummaryService.recordDeleted(userId, first);
+        budgetAlertService.recordDeleted(userId, first);
+        assertThat(summary(DATE, Category.FOOD)).extracting(MonthlySummary::getTotalCents,
+                MonthlySummary::getTransactionCount).containsExactly(750L, 1L);
+
+        monthlySummaryService.recordDeleted(userId, second);
+        budgetAlertService.recordDeleted(userId, second);
+        assertThat(summaryRepository.findByUserId(userId)).isEmpty();
+        assertThat(monthTotal()).isZero();
+        assertThat(categoryTotal(Category.FOOD)).isZero();
+    }
+
+    @Test
+    void reconcileCorrectsTotalsAndKeepsReportedThresholds() {
+        // Recorded without an expense row behind it, so the expenses table says 0
+        record(expense(DATE, Category.FOOD, 1250));
+        transactionTemplate.executeWithoutResult(status -> monthTotalRepository.updateAlertedThresholds(
+                userId, DATE.getYear(), DATE.getMonthValue(), 3));
+
+        assertThat(budgetAlertService.reconcileTotals(userId)).isEqualTo(2);
+        assertThat(monthTotal()).isZero();
+        assertThat(categoryTotal(Category.FOOD)).isZero();
+        assertThat(monthTotalRepository.findState(userId, DATE.getYear(), DATE.getMonthValue()).orElseThrow()
+                .alertedThresholds()).isEqualTo(3);
+        assertThat(budgetAlertService.reconcileTotals(userId)).isZero();
+    }
+
+    private void record(Expense expense) {
+        monthlySummaryService.recordCreated(userId, expense);
+        budgetAlertService.recordCreated(userId, expense);
+    }
+
+    private Expense expense(LocalDate date, Category category, long amountCents) {
+        Expense expense = new Expense();
+        expense.setDescription("Expense");
+        expense.setAmountCents(amountCents);
+        expense.setCategory(category);
+        expense.setExpenseDate(date);
+        return expense;
+    }
+
+    private MonthlySummary summary(LocalDate date, Category category) {
+        return summaryRepository.findByUserIdAndYearAndMonth(userId, date.getYear(), date.getMonthValue()).stream()
+                .filter(summary -> summary.getCategory() == category && summary.getDay() == date.getDayOfMonth())
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No bucket for " + date + " " + category));
+    }
+
+    private long monthTotal() {
+        return monthTotalRepository.findState(userId, DATE.getYear(), DATE.getMonthValue())
+                .map(MonthTotalState::totalCents)
+                .orElseThrow();
+    }
+
+    private long categoryTotal(Category category) {
+        return categoryMonthTotalRepository.findState(userId, DATE.getYear(), DATE.getMonthValue(), category)
+                .map(MonthTotalState::totalCents)
+                .orElseThrow();
+    }
+}